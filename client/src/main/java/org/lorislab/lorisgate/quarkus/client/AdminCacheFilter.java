@@ -0,0 +1,156 @@
+package org.lorislab.lorisgate.quarkus.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+/**
+ * Response cache of the admin client. The {@code GET} responses are cached with their raw body and revalidated
+ * with {@code If-None-Match}, an unchanged resource is read from the cached body after the {@code 304} response.
+ * For servers without validators the {@code ttl} mode reads the cached body without a request. Every other request
+ * clears the cache.
+ * <p>
+ * The response DTOs are decoded from the cached body for every call, the callers get their own DTOs.
+ * <p>
+ * Every filter instance, that is every admin client, has its own cache. The responses are cached by the request URI
+ * and the hash of the {@code Authorization} header, a caller never reads the response of a different caller.
+ * A modification invalidates only the cache of the client sending it, in the {@code ttl} mode the other clients
+ * may read a stale response until it expires.
+ * <p>
+ * The cache is configured with the {@value #MODE} ({@code disabled}, {@code etag} or {@code ttl}, default
+ * {@code etag}), {@value #MAX_SIZE} (default {@code 256}) and {@value #TTL} (default {@code 2s}) properties.
+ */
+public class AdminCacheFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    /**
+     * The cache mode property.
+     */
+    public static final String MODE = "lorislab.lorisgate.admin-client.cache.mode";
+
+    /**
+     * The maximum number of the cached responses property.
+     */
+    public static final String MAX_SIZE = "lorislab.lorisgate.admin-client.cache.max-size";
+
+    /**
+     * The time to live of the cached responses in the {@code ttl} mode property.
+     */
+    public static final String TTL = "lorislab.lorisgate.admin-client.cache.ttl";
+
+    private static final String PROPERTY_KEY = AdminCacheFilter.class.getName() + ".key";
+
+    private static final String PROPERTY_HIT = AdminCacheFilter.class.getName() + ".hit";
+
+    private final AdminResponseCache cache;
+
+    /**
+     * The default constructor. The response cache of the filter is created from the configuration.
+     */
+    public AdminCacheFilter() {
+        this(create(ConfigProvider.getConfig()));
+    }
+
+    AdminCacheFilter(AdminResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext) {
+        var responseCache = cache;
+        if (responseCache.getMode() == AdminResponseCache.Mode.DISABLED) {
+            return;
+        }
+        if (!HttpMethod.GET.equals(requestContext.getMethod())) {
+            responseCache.invalidateAll();
+            return;
+        }
+
+        String key = key(requestContext);
+        requestContext.setProperty(PROPERTY_KEY, key);
+
+        var fresh = responseCache.getFresh(key);
+        if (fresh != null) {
+            requestContext.setProperty(PROPERTY_HIT, fresh);
+            requestContext.abortWith(Response.ok(fresh.getBody(), fresh.getContentType()).build());
+            return;
+        }
+
+        var entry = responseCache.get(key);
+        if (entry != null && entry.getEtag() != null) {
+            requestContext.getHeaders().putSingle(HttpHeaders.IF_NONE_MATCH, entry.getEtag());
+        }
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) throws IOException {
+        var key = (String) requestContext.getProperty(PROPERTY_KEY);
+        if (key == null || requestContext.getProperty(PROPERTY_HIT) != null) {
+            return;
+        }
+        var responseCache = cache;
+
+        // unchanged resource, the body is replaced with the cached body
+        if (responseContext.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+            var entry = responseCache.get(key);
+            if (entry != null) {
+                responseContext.setStatus(Response.Status.OK.getStatusCode());
+                responseContext.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE, entry.getContentType());
+                responseContext.setEntityStream(new ByteArrayInputStream(entry.getBody()));
+            }
+            return;
+        }
+
+        if (responseContext.getStatus() != Response.Status.OK.getStatusCode() || !responseContext.hasEntity()) {
+            return;
+        }
+        String etag = responseContext.getHeaderString(HttpHeaders.ETAG);
+        if (etag == null && responseCache.getMode() != AdminResponseCache.Mode.TTL) {
+            return;
+        }
+
+        byte[] body;
+        try (InputStream stream = responseContext.getEntityStream()) {
+            body = stream.readAllBytes();
+        }
+        responseContext.setEntityStream(new ByteArrayInputStream(body));
+        responseCache.put(key,
+                new AdminResponseCache.Entry(etag, responseContext.getHeaderString(HttpHeaders.CONTENT_TYPE), body));
+    }
+
+    private static String key(ClientRequestContext requestContext) {
+        String uri = requestContext.getUri().toString();
+        String authorization = requestContext.getHeaderString(HttpHeaders.AUTHORIZATION);
+        if (authorization == null) {
+            return uri;
+        }
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(authorization.getBytes(StandardCharsets.UTF_8));
+            return uri + "#" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static AdminResponseCache create(Config config) {
+        return new AdminResponseCache(
+                config.getOptionalValue(MODE, AdminResponseCache.Mode.class).orElse(AdminResponseCache.Mode.ETAG),
+                config.getOptionalValue(MAX_SIZE, Integer.class).orElse(256),
+                config.getOptionalValue(TTL, Duration.class).orElse(Duration.ofSeconds(2)));
+    }
+}
@@ -0,0 +1,493 @@
+package org.lorislab.lorisgate.quarkus.client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+import gen.org.lorislab.lorisgate.client.admin.v1.model.ClientSearchResultV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.ClientV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.RealmItemV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.RealmSearchResultV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.RealmV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.RoleV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.UserSearchResultV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.UserV1DTO;
+
+/**
+ * Reflection-free JSON codec of the admin DTOs. The DTOs are written and read with the Jackson streaming API,
+ * the fields are mapped in code, so the DTOs do not need the reflection registration for the native image.
+ * Unknown fields are skipped and {@code null} fields are not written.
+ * <p>
+ * The read methods accept any Jackson parser, for example the YAML parser of the realm export files.
+ */
+public final class AdminJsonCodec {
+
+    // the streams are owned by the callers
+    private static final JsonFactory FACTORY = JsonFactory.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private static final Set<Class<?>> TYPES = Set.of(RealmV1DTO.class, RoleV1DTO.class, ClientV1DTO.class,
+            UserV1DTO.class, RealmItemV1DTO.class, RealmSearchResultV1DTO.class, ClientSearchResultV1DTO.class,
+            UserSearchResultV1DTO.class);
+
+    private AdminJsonCodec() {
+    }
+
+    /**
+     * Checks if the type is supported by the codec.
+     *
+     * @param type the type.
+     * @return {@code true} for the admin DTOs.
+     */
+    public static boolean supports(Class<?> type) {
+        return TYPES.contains(type);
+    }
+
+    /**
+     * Encodes the DTO.
+     *
+     * @param value the DTO.
+     * @return the JSON bytes.
+     */
+    public static byte[] encode(Object value) {
+        var output = new ByteArrayOutputStream(256);
+        try {
+            write(output, value);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Decodes the DTO.
+     *
+     * @param bytes the JSON bytes.
+     * @param type the DTO type.
+     * @param <T> the DTO type.
+     * @return the DTO.
+     */
+    public static <T> T decode(byte[] bytes, Class<T> type) {
+        try (JsonParser parser = FACTORY.createParser(bytes)) {
+            parser.nextToken();
+            return read(parser, type);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Encodes the DTOs as JSON array.
+     *
+     * @param values the DTOs.
+     * @return the JSON bytes.
+     */
+    public static byte[] encodeList(Collection<?> values) {
+        var output = new ByteArrayOutputStream(1024);
+        try (JsonGenerator generator = FACTORY.createGenerator(output)) {
+            generator.writeStartArray();
+            for (Object value : values) {
+                write(generator, value);
+            }
+            generator.writeEndArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Decodes the JSON array of the DTOs.
+     *
+     * @param bytes the JSON bytes.
+     * @param type the DTO type.
+     * @param <T> the DTO type.
+     * @return the DTOs.
+     */
+    public static <T> List<T> decodeList(byte[] bytes, Class<T> type) {
+        try (JsonParser parser = FACTORY.createParser(bytes)) {
+            List<T> result = new ArrayList<>();
+            parser.nextToken();
+            expect(parser, JsonToken.START_ARRAY);
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                result.add(read(parser, type));
+            }
+            return result;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Writes the DTO to the output stream.
+     *
+     * @param output the output stream.
+     * @param value the DTO.
+     * @throws IOException if the write fails.
+     */
+    public static void write(OutputStream output, Object value) throws IOException {
+        try (JsonGenerator generator = FACTORY.createGenerator(output)) {
+            write(generator, value);
+        }
+    }
+
+    /**
+     * Reads the DTO from the input stream.
+     *
+     * @param input the input stream.
+     * @param type the DTO type.
+     * @param <T> the DTO type.
+     * @return the DTO.
+     * @throws IOException if the read fails.
+     */
+    public static <T> T read(InputStream input, Class<T> type) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(input)) {
+            parser.nextToken();
+            return read(parser, type);
+        }
+    }
+
+    /**
+     * Writes the DTO.
+     *
+     * @param generator the JSON generator.
+     * @param value the DTO.
+     * @throws IOException if the write fails.
+     */
+    public static void write(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof RealmV1DTO realm) {
+            writeRealm(generator, realm);
+        } else if (value instanceof RoleV1DTO role) {
+            writeRole(generator, role);
+        } else if (value instanceof ClientV1DTO client) {
+            writeClient(generator, client);
+        } else if (value instanceof UserV1DTO user) {
+            writeUser(generator, user);
+        } else if (value instanceof RealmItemV1DTO item) {
+            writeRealmItem(generator, item);
+        } else if (value instanceof RealmSearchResultV1DTO result) {
+            writeItems(generator, result.getItems());
+        } else if (value instanceof ClientSearchResultV1DTO result) {
+            writeItems(generator, result.getItems());
+        } else if (value instanceof UserSearchResultV1DTO result) {
+            writeItems(generator, result.getItems());
+        } else {
+            throw new IllegalArgumentException("Unsupported admin DTO " + value.getClass().getName());
+        }
+    }
+
+    /**
+     * Reads the DTO. The parser must point to the start of the object, the {@code null} value or the end of the
+     * empty input.
+     *
+     * @param parser the JSON parser.
+     * @param type the DTO type.
+     * @param <T> the DTO type.
+     * @return the DTO or {@code null}.
+     * @throws IOException if the read fails.
+     */
+    public static <T> T read(JsonParser parser, Class<T> type) throws IOException {
+        if (parser.currentToken() == null || parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        Object result;
+        if (type == RealmV1DTO.class) {
+            result = readRealm(parser);
+        } else if (type == RoleV1DTO.class) {
+            result = readRole(parser);
+        } else if (type == ClientV1DTO.class) {
+            result = readClient(parser);
+        } else if (type == UserV1DTO.class) {
+            result = readUser(parser);
+        } else if (type == RealmItemV1DTO.class) {
+            result = readRealmItem(parser);
+        } else if (type == RealmSearchResultV1DTO.class) {
+            result = new RealmSearchResultV1DTO().items(readItems(parser, RealmItemV1DTO.class));
+        } else if (type == ClientSearchResultV1DTO.class) {
+            result = new ClientSearchResultV1DTO().items(readItems(parser, ClientV1DTO.class));
+        } else if (type == UserSearchResultV1DTO.class) {
+            result = new UserSearchResultV1DTO().items(readItems(parser, UserV1DTO.class));
+        } else {
+            throw new IllegalArgumentException("Unsupported admin DTO " + type.getName());
+        }
+        return type.cast(result);
+    }
+
+    /**
+     * Reads the map of the DTOs. The parser must point to the start of the object.
+     *
+     * @param parser the JSON parser.
+     * @param type the DTO type.
+     * @param <T> the DTO type.
+     * @return the map of the DTOs.
+     * @throws IOException if the read fails.
+     */
+    public static <T> Map<String, T> readMap(JsonParser parser, Class<T> type) throws IOException {
+        Map<String, T> result = new HashMap<>();
+        expect(parser, JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.currentName();
+            parser.nextToken();
+            result.put(key, read(parser, type));
+        }
+        return result;
+    }
+
+    private static void writeRealm(JsonGenerator g, RealmV1DTO realm) throws IOException {
+        g.writeStartObject();
+        writeString(g, "name", realm.getName());
+        writeString(g, "frontendUrl", realm.getFrontendUrl());
+        writeString(g, "displayName", realm.getDisplayName());
+        writeBoolean(g, "enabled", realm.getEnabled());
+        writeMap(g, "roles", realm.getRoles());
+        writeMap(g, "clients", realm.getClients());
+        writeMap(g, "users", realm.getUsers());
+        g.writeEndObject();
+    }
+
+    private static RealmV1DTO readRealm(JsonParser p) throws IOException {
+        var realm = new RealmV1DTO();
+        expect(p, JsonToken.START_OBJECT);
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "name" -> realm.name(p.getValueAsString());
+                case "frontendUrl" -> realm.frontendUrl(p.getValueAsString());
+                case "displayName" -> realm.displayName(p.getValueAsString());
+                case "enabled" -> realm.enabled(readBoolean(p));
+                case "roles" -> realm.roles(readNullableMap(p, RoleV1DTO.class));
+                case "clients" -> realm.clients(readNullableMap(p, ClientV1DTO.class));
+                case "users" -> realm.users(readNullableMap(p, UserV1DTO.class));
+                default -> p.skipChildren();
+            }
+        }
+        return realm;
+    }
+
+    private static void writeRole(JsonGenerator g, RoleV1DTO role) throws IOException {
+        g.writeStartObject();
+        writeString(g, "name", role.getName());
+        writeString(g, "description", role.getDescription());
+        writeBoolean(g, "enabled", role.getEnabled());
+        g.writeEndObject();
+    }
+
+    private static RoleV1DTO readRole(JsonParser p) throws IOException {
+        var role = new RoleV1DTO();
+        expect(p, JsonToken.START_OBJECT);
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "name" -> role.name(p.getValueAsString());
+                case "description" -> role.description(p.getValueAsString());
+                case "enabled" -> role.enabled(readBoolean(p));
+                default -> p.skipChildren();
+            }
+        }
+        return role;
+    }
+
+    private static void writeClient(JsonGenerator g, ClientV1DTO client) throws IOException {
+        g.writeStartObject();
+        writeString(g, "clientId", client.getClientId());
+        writeString(g, "clientSecret", client.getClientSecret());
+        writeBoolean(g, "confidential", client.getConfidential());
+        writeStrings(g, "scopes", client.getScopes());
+        writeStrings(g, "roles", client.getRoles());
+        writeStrings(g, "redirectUris", client.getRedirectUris());
+        g.writeEndObject();
+    }
+
+    private static ClientV1DTO readClient(JsonParser p) throws IOException {
+        var client = new ClientV1DTO();
+        expect(p, JsonToken.START_OBJECT);
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "clientId" -> client.clientId(p.getValueAsString());
+                case "clientSecret" -> client.clientSecret(p.getValueAsString());
+                case "confidential" -> client.confidential(readBoolean(p));
+                case "scopes" -> client.scopes(readStrings(p));
+                case "roles" -> client.roles(readStrings(p));
+                case "redirectUris" -> client.redirectUris(readStrings(p));
+                default -> p.skipChildren();
+            }
+        }
+        return client;
+    }
+
+    private static void writeUser(JsonGenerator g, UserV1DTO user) throws IOException {
+        g.writeStartObject();
+        writeString(g, "username", user.getUsername());
+        writeString(g, "id", user.getId());
+        writeBoolean(g, "enabled", user.getEnabled());
+        writeStrings(g, "roles", user.getRoles());
+        writeString(g, "name", user.getName());
+        writeString(g, "givenName", user.getGivenName());
+        writeString(g, "familyName", user.getFamilyName());
+        writeString(g, "email", user.getEmail());
+        writeString(g, "password", user.getPassword());
+        writeBoolean(g, "emailVerified", user.getEmailVerified());
+        writeStrings(g, "groups", user.getGroups());
+        g.writeEndObject();
+    }
+
+    private static UserV1DTO readUser(JsonParser p) throws IOException {
+        var user = new UserV1DTO();
+        expect(p, JsonToken.START_OBJECT);
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "username" -> user.username(p.getValueAsString());
+                case "id" -> user.id(p.getValueAsString());
+                case "enabled" -> user.enabled(readBoolean(p));
+                case "roles" -> user.roles(readStrings(p));
+                case "name" -> user.name(p.getValueAsString());
+                case "givenName" -> user.givenName(p.getValueAsString());
+                case "familyName" -> user.familyName(p.getValueAsString());
+                case "email" -> user.email(p.getValueAsString());
+                case "password" -> user.password(p.getValueAsString());
+                case "emailVerified" -> user.emailVerified(readBoolean(p));
+                case "groups" -> user.groups(readStrings(p));
+                default -> p.skipChildren();
+            }
+        }
+        return user;
+    }
+
+    private static void writeRealmItem(JsonGenerator g, RealmItemV1DTO item) throws IOException {
+        g.writeStartObject();
+        writeString(g, "name", item.getName());
+        writeString(g, "displayName", item.getDisplayName());
+        g.writeEndObject();
+    }
+
+    private static RealmItemV1DTO readRealmItem(JsonParser p) throws IOException {
+        var item = new RealmItemV1DTO();
+        expect(p, JsonToken.START_OBJECT);
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "name" -> item.name(p.getValueAsString());
+                case "displayName" -> item.displayName(p.getValueAsString());
+                default -> p.skipChildren();
+            }
+        }
+        return item;
+    }
+
+    private static void writeItems(JsonGenerator g, List<?> items) throws IOException {
+        g.writeStartObject();
+        if (items != null) {
+            g.writeArrayFieldStart("items");
+            for (Object item : items) {
+                write(g, item);
+            }
+            g.writeEndArray();
+        }
+        g.writeEndObject();
+    }
+
+    private static <T> List<T> readItems(JsonParser p, Class<T> type) throws IOException {
+        List<T> items = new ArrayList<>();
+        expect(p, JsonToken.START_OBJECT);
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken token = p.nextToken();
+            if ("items".equals(field) && token == JsonToken.START_ARRAY) {
+                while (p.nextToken() != JsonToken.END_ARRAY) {
+                    items.add(read(p, type));
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+        return items;
+    }
+
+    private static void writeString(JsonGenerator g, String name, String value) throws IOException {
+        if (value != null) {
+            g.writeStringField(name, value);
+        }
+    }
+
+    private static void writeBoolean(JsonGenerator g, String name, Boolean value) throws IOException {
+        if (value != null) {
+            g.writeBooleanField(name, value);
+        }
+    }
+
+    private static void writeStrings(JsonGenerator g, String name, Collection<String> values) throws IOException {
+        if (values == null) {
+            return;
+        }
+        g.writeArrayFieldStart(name);
+        for (String value : values) {
+            g.writeString(value);
+        }
+        g.writeEndArray();
+    }
+
+    private static void writeMap(JsonGenerator g, String name, Map<String, ?> values) throws IOException {
+        if (values == null) {
+            return;
+        }
+        g.writeObjectFieldStart(name);
+        for (var entry : values.entrySet()) {
+            g.writeFieldName(entry.getKey());
+            write(g, entry.getValue());
+        }
+        g.writeEndObject();
+    }
+
+    private static Boolean readBoolean(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : p.getValueAsBoolean();
+    }
+
+    private static Set<String> readStrings(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        Set<String> result = new LinkedHashSet<>();
+        expect(p, JsonToken.START_ARRAY);
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            result.add(p.getValueAsString());
+        }
+        return result;
+    }
+
+    private static <T> Map<String, T> readNullableMap(JsonParser p, Class<T> type) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : readMap(p, type);
+    }
+
+    private static void expect(JsonParser p, JsonToken token) throws IOException {
+        if (p.currentToken() != token) {
+            throw new IOException("Expected " + token + " but was " + p.currentToken() + " at " + p.currentLocation());
+        }
+    }
+}
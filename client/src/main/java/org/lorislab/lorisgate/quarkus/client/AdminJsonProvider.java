@@ -0,0 +1,51 @@
+package org.lorislab.lorisgate.quarkus.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+
+/**
+ * JSON reader and writer of the admin DTOs for the admin REST client. The DTOs are mapped with the
+ * {@link AdminJsonCodec} without the reflection-based Jackson binding.
+ */
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class AdminJsonProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return AdminJsonCodec.supports(type) && isJson(mediaType);
+    }
+
+    @Override
+    public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+            MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+        return AdminJsonCodec.read(entityStream, type);
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return AdminJsonCodec.supports(type) && isJson(mediaType);
+    }
+
+    @Override
+    public void writeTo(Object value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+            MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        AdminJsonCodec.write(entityStream, value);
+    }
+
+    private static boolean isJson(MediaType mediaType) {
+        return mediaType == null || mediaType.isWildcardType()
+                || (mediaType.getSubtype() != null && (mediaType.getSubtype().equals("json")
+                        || mediaType.getSubtype().endsWith("+json")));
+    }
+}
@@ -0,0 +1,165 @@
+package org.lorislab.lorisgate.quarkus.client;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of the admin client responses keyed by the request URI. The entry keeps the raw body and
+ * the validator of the response.
+ */
+public class AdminResponseCache {
+
+    /**
+     * The cache mode.
+     */
+    public enum Mode {
+
+        /**
+         * The responses are not cached.
+         */
+        DISABLED,
+
+        /**
+         * The responses with the {@code ETag} header are cached and revalidated with {@code If-None-Match}.
+         */
+        ETAG,
+
+        /**
+         * The responses are cached for a short time without revalidation.
+         */
+        TTL;
+    }
+
+    private final Mode mode;
+
+    private final long ttl;
+
+    private final Map<String, Entry> entries;
+
+    /**
+     * The default constructor.
+     *
+     * @param mode the cache mode.
+     * @param maxSize the maximum number of the cached responses.
+     * @param ttl the time to live of the responses in the {@link Mode#TTL} mode.
+     */
+    public AdminResponseCache(Mode mode, int maxSize, Duration ttl) {
+        this.mode = mode;
+        this.ttl = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the cache mode.
+     *
+     * @return the cache mode.
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Gets the cached entry.
+     *
+     * @param uri the request URI.
+     * @return the cached entry or {@code null}.
+     */
+    public synchronized Entry get(String uri) {
+        return entries.get(uri);
+    }
+
+    /**
+     * Gets the cached entry which is still fresh in the {@link Mode#TTL} mode.
+     *
+     * @param uri the request URI.
+     * @return the fresh entry or {@code null}.
+     */
+    public synchronized Entry getFresh(String uri) {
+        var entry = entries.get(uri);
+        if (entry == null || mode != Mode.TTL) {
+            return null;
+        }
+        if (System.nanoTime() - entry.created > ttl) {
+            entries.remove(uri);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Puts the response in the cache.
+     *
+     * @param uri the request URI.
+     * @param entry the cached entry.
+     */
+    public synchronized void put(String uri, Entry entry) {
+        entries.put(uri, entry);
+    }
+
+    /**
+     * Removes all responses from the cache.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * The cached response.
+     */
+    public static class Entry {
+
+        private final String etag;
+
+        private final String contentType;
+
+        private final byte[] body;
+
+        private final long created = System.nanoTime();
+
+        /**
+         * The default constructor.
+         *
+         * @param etag the response validator.
+         * @param contentType the response content type.
+         * @param body the raw response body.
+         */
+        public Entry(String etag, String contentType, byte[] body) {
+            this.etag = etag;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        /**
+         * Gets the response validator.
+         *
+         * @return the response validator or {@code null}.
+         */
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * Gets the response content type.
+         *
+         * @return the response content type.
+         */
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * Gets the raw response body.
+         *
+         * @return the raw response body.
+         */
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
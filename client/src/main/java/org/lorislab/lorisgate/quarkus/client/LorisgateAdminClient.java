@@ -0,0 +1,271 @@
+package org.lorislab.lorisgate.quarkus.client;
+
+import static io.netty.handler.codec.http.HttpHeaderValues.APPLICATION_JSON;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import gen.org.lorislab.lorisgate.client.admin.v1.model.ClientSearchResultV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.ClientV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.RealmV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.UserSearchResultV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.UserV1DTO;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.client.WebClientOptions;
+import io.vertx.mutiny.core.MultiMap;
+import io.vertx.mutiny.core.buffer.Buffer;
+import io.vertx.mutiny.core.http.HttpHeaders;
+import io.vertx.mutiny.ext.web.client.HttpRequest;
+import io.vertx.mutiny.ext.web.client.HttpResponse;
+import io.vertx.mutiny.ext.web.client.WebClient;
+
+/**
+ * Client of the lorisgate admin API. The client does not need the dev service classes and can be used
+ * in the application tests, for example to restore a {@link RealmSnapshot} between the tests.
+ */
+public class LorisgateAdminClient implements AutoCloseable {
+
+    private static final int TIMEOUT = 300;
+
+    private static final int MAX_POOL_SIZE = 16;
+
+    private final String url;
+
+    private final int timeout;
+
+    private final Vertx vertx;
+
+    private final WebClient webClient;
+
+    private final Map<String, String> headers;
+
+    /**
+     * The builder method.
+     *
+     * @param url the lorisgate server endpoint.
+     * @return the admin client.
+     */
+    public static LorisgateAdminClient create(String url) {
+        return new LorisgateAdminClient(url, TIMEOUT);
+    }
+
+    protected LorisgateAdminClient(String url, int timeout) {
+        this(url, timeout, Map.of());
+    }
+
+    /**
+     * Creates the admin client.
+     *
+     * @param url the lorisgate server endpoint.
+     * @param timeout the request timeout in seconds.
+     * @param headers the additional headers of the admin requests, for example the trace context.
+     */
+    protected LorisgateAdminClient(String url, int timeout, Map<String, String> headers) {
+        this.url = url;
+        this.timeout = timeout;
+        this.headers = Map.copyOf(headers);
+        this.vertx = Vertx.vertx();
+        this.webClient = createWebClient(vertx);
+    }
+
+    public boolean existsRealm(String realm) {
+        var response = send(HttpMethod.GET, adminRealmsUrl(realm), null);
+        if (response.statusCode() == HttpResponseStatus.NOT_FOUND.code()) {
+            return false;
+        }
+        check(response, HttpResponseStatus.OK, "get '" + realm + "' realm");
+        return true;
+    }
+
+    public RealmV1DTO getRealm(String realm) {
+        HttpResponse<Buffer> createRealmResponse = request(HttpMethod.GET, adminRealmsUrl(realm))
+                .send()
+                .await().atMost(Duration.ofSeconds(timeout));
+
+        if (createRealmResponse.statusCode() == HttpResponseStatus.NOT_FOUND.code()) {
+            return null;
+        }
+        if (createRealmResponse.statusCode() != HttpResponseStatus.OK.code()) {
+            throw new RuntimeException("Failed to get '" + realm + "' realm in lorisgate dev service, status: "
+                    + createRealmResponse.statusCode() + ", body: " + createRealmResponse.bodyAsString());
+        }
+        return decode(createRealmResponse, RealmV1DTO.class);
+    }
+
+    public void createRealm(RealmV1DTO realm) {
+        HttpResponse<Buffer> createRealmResponse = request(HttpMethod.POST, adminRealmsUrl())
+                .sendBuffer(Buffer.buffer(AdminJsonCodec.encode(realm)))
+                .await().atMost(Duration.ofSeconds(timeout));
+
+        if (createRealmResponse.statusCode() != HttpResponseStatus.CREATED.code()) {
+            throw new RuntimeException("Failed to create quarkus realm in lorisgate dev service, status: "
+                    + createRealmResponse.statusCode() + ", body: " + createRealmResponse.bodyAsString());
+        }
+    }
+
+    public void createRealm(String realm, byte[] payload) {
+        var response = request(HttpMethod.POST, adminRealmsUrl())
+                .sendBuffer(Buffer.buffer(payload))
+                .await().atMost(Duration.ofSeconds(timeout));
+        check(response, HttpResponseStatus.CREATED, "create '" + realm + "' realm");
+    }
+
+    public void updateRealm(RealmV1DTO realm) {
+        var response = send(HttpMethod.PUT, adminRealmsUrl(realm.getName()), realm);
+        check(response, HttpResponseStatus.OK, "update '" + realm.getName() + "' realm");
+    }
+
+    public void deleteRealm(String realm) {
+        var response = send(HttpMethod.DELETE, adminRealmsUrl(realm), null);
+        check(response, HttpResponseStatus.OK, "delete '" + realm + "' realm");
+    }
+
+    public List<UserV1DTO> getUsers(String realm) {
+        var response = send(HttpMethod.GET, adminRealmsUrl(realm) + "/users", null);
+        check(response, HttpResponseStatus.OK, "get users of the '" + realm + "' realm");
+        var result = decode(response, UserSearchResultV1DTO.class);
+        return result == null || result.getItems() == null ? List.of() : result.getItems();
+    }
+
+    public void createUser(String realm, UserV1DTO user) {
+        var response = send(HttpMethod.POST, adminRealmsUrl(realm) + "/users", user);
+        check(response, HttpResponseStatus.CREATED, "create user '" + user.getUsername() + "' in the '" + realm + "' realm");
+    }
+
+    public void createUsers(String realm, List<UserV1DTO> users) {
+        sendAll(users.stream().map(user -> sendAsync(HttpMethod.POST, adminRealmsUrl(realm) + "/users", user)
+                .invoke(response -> check(response, HttpResponseStatus.CREATED,
+                        "create user '" + user.getUsername() + "' in the '" + realm + "' realm")))
+                .toList());
+    }
+
+    public void updateUser(String realm, UserV1DTO user) {
+        var response = send(HttpMethod.PUT, adminRealmsUrl(realm) + "/users/" + user.getUsername(), user);
+        check(response, HttpResponseStatus.OK, "update user '" + user.getUsername() + "' in the '" + realm + "' realm");
+    }
+
+    public void deleteUser(String realm, String username) {
+        var response = send(HttpMethod.DELETE, adminRealmsUrl(realm) + "/users/" + username, null);
+        check(response, HttpResponseStatus.OK, "delete user '" + username + "' in the '" + realm + "' realm");
+    }
+
+    public List<ClientV1DTO> getClients(String realm) {
+        var response = send(HttpMethod.GET, adminRealmsUrl(realm) + "/clients", null);
+        check(response, HttpResponseStatus.OK, "get clients of the '" + realm + "' realm");
+        var result = decode(response, ClientSearchResultV1DTO.class);
+        return result == null || result.getItems() == null ? List.of() : result.getItems();
+    }
+
+    public void createClient(String realm, ClientV1DTO client) {
+        var response = send(HttpMethod.POST, adminRealmsUrl(realm) + "/clients", client);
+        check(response, HttpResponseStatus.CREATED,
+                "create client '" + client.getClientId() + "' in the '" + realm + "' realm");
+    }
+
+    public void createClients(String realm, List<ClientV1DTO> clients) {
+        sendAll(clients.stream().map(client -> sendAsync(HttpMethod.POST, adminRealmsUrl(realm) + "/clients", client)
+                .invoke(response -> check(response, HttpResponseStatus.CREATED,
+                        "create client '" + client.getClientId() + "' in the '" + realm + "' realm")))
+                .toList());
+    }
+
+    public void updateClient(String realm, ClientV1DTO client) {
+        var response = send(HttpMethod.PUT, adminRealmsUrl(realm) + "/clients/" + client.getClientId(), client);
+        check(response, HttpResponseStatus.OK, "update client '" + client.getClientId() + "' in the '" + realm + "' realm");
+    }
+
+    public void deleteClient(String realm, String clientId) {
+        var response = send(HttpMethod.DELETE, adminRealmsUrl(realm) + "/clients/" + clientId, null);
+        check(response, HttpResponseStatus.OK, "delete client '" + clientId + "' in the '" + realm + "' realm");
+    }
+
+    /**
+     * Checks the password of the user with a password grant. The server does not return the user passwords,
+     * the grant is the only way to verify a password.
+     *
+     * @param realm the realm name.
+     * @param client the client of the grant, the client secret is sent for the confidential client.
+     * @param username the username.
+     * @param password the expected password.
+     * @return {@code true} if the server issues the token for the password.
+     */
+    public boolean checkPassword(String realm, ClientV1DTO client, String username, String password) {
+        var form = MultiMap.caseInsensitiveMultiMap()
+                .add("grant_type", "password")
+                .add("client_id", client.getClientId())
+                .add("username", username)
+                .add("password", password);
+        if (client.getClientSecret() != null) {
+            form.add("client_secret", client.getClientSecret());
+        }
+        var response = webClient.postAbs(url + "/realms/" + realm + "/protocol/openid-connect/token")
+                .sendForm(form)
+                .await().atMost(Duration.ofSeconds(timeout));
+        return response.statusCode() == HttpResponseStatus.OK.code();
+    }
+
+    private HttpResponse<Buffer> send(HttpMethod method, String url, Object body) {
+        return sendAsync(method, url, body).await().atMost(Duration.ofSeconds(timeout));
+    }
+
+    private Uni<HttpResponse<Buffer>> sendAsync(HttpMethod method, String url, Object body) {
+        var request = request(method, url);
+        return body == null ? request.send() : request.sendBuffer(Buffer.buffer(AdminJsonCodec.encode(body)));
+    }
+
+    private HttpRequest<Buffer> request(HttpMethod method, String url) {
+        var request = webClient.requestAbs(method, url)
+                .putHeader(HttpHeaders.CONTENT_TYPE.toString(), APPLICATION_JSON.toString());
+        headers.forEach(request::putHeader);
+        return request;
+    }
+
+    private void sendAll(List<Uni<HttpResponse<Buffer>>> requests) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        Uni.join().all(requests).andFailFast().await().atMost(Duration.ofSeconds(timeout));
+    }
+
+    private static <T> T decode(HttpResponse<Buffer> response, Class<T> type) {
+        var body = response.body();
+        return body == null ? null : AdminJsonCodec.decode(body.getBytes(), type);
+    }
+
+    private static void check(HttpResponse<Buffer> response, HttpResponseStatus status, String action) {
+        if (response.statusCode() != status.code()) {
+            throw new RuntimeException("Failed to " + action + " in lorisgate dev service, status: "
+                    + response.statusCode() + ", body: " + response.bodyAsString());
+        }
+    }
+
+    private String adminRealmsUrl(String realm) {
+        return url + "/admin/realms/" + realm;
+    }
+
+    private String adminRealmsUrl() {
+        return url + "/admin/realms";
+    }
+
+    private WebClient createWebClient(Vertx vertx) {
+        WebClientOptions options = new WebClientOptions();
+        options.setTrustAll(true);
+        options.setVerifyHost(false);
+        options.setMaxPoolSize(MAX_POOL_SIZE);
+        return WebClient.create(new io.vertx.mutiny.core.Vertx(vertx), options);
+    }
+
+    @Override
+    public void close() {
+        if (webClient != null) {
+            webClient.close();
+        }
+        if (vertx != null) {
+            vertx.close();
+        }
+    }
+}
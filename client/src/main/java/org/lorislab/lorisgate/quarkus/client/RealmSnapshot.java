@@ -0,0 +1,287 @@
+package org.lorislab.lorisgate.quarkus.client;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import gen.org.lorislab.lorisgate.client.admin.v1.model.ClientV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.RealmV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.RoleV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.UserV1DTO;
+
+/**
+ * Snapshot of the realms in the lorisgate server. The snapshot is captured once and restored between the tests
+ * by applying only the differences between the snapshot and the current server state.
+ * <p>
+ * The server never returns the user passwords. A user with a known password is checked with a password grant
+ * of a snapshot client and updated only if the grant fails. The passwords are known when the snapshot is created
+ * from the provisioning realms with {@link #of(RealmV1DTO...)}, a captured snapshot takes them from the provisioning
+ * realms with {@link #withPasswords(RealmV1DTO...)}. Users without a known password are restored without
+ * the password.
+ */
+public class RealmSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(RealmSnapshot.class);
+
+    /**
+     * The realms by name.
+     */
+    private final Map<String, RealmV1DTO> realms;
+
+    private RealmSnapshot(Map<String, RealmV1DTO> realms) {
+        this.realms = realms;
+    }
+
+    /**
+     * Creates the snapshot of the provisioning realms.
+     *
+     * @param realms the realms with users, clients and roles.
+     * @return the realm snapshot.
+     */
+    public static RealmSnapshot of(RealmV1DTO... realms) {
+        Map<String, RealmV1DTO> result = new LinkedHashMap<>();
+        for (RealmV1DTO realm : realms) {
+            result.put(realm.getName(), realm);
+        }
+        return new RealmSnapshot(result);
+    }
+
+    /**
+     * Captures the current state of the realms in the lorisgate server.
+     *
+     * @param client the lorisgate client.
+     * @param realms the realm names.
+     * @return the realm snapshot.
+     */
+    public static RealmSnapshot capture(LorisgateAdminClient client, String... realms) {
+        Map<String, RealmV1DTO> result = new LinkedHashMap<>();
+        for (String name : realms) {
+            var realm = client.getRealm(name);
+            if (realm == null) {
+                throw new IllegalArgumentException("Realm '" + name + "' does not exist in the lorisgate server");
+            }
+            realm.users(toMap(client.getUsers(name), UserV1DTO::getUsername));
+            realm.clients(toMap(client.getClients(name), ClientV1DTO::getClientId));
+            result.put(name, realm);
+        }
+        return new RealmSnapshot(result);
+    }
+
+    /**
+     * Sets the passwords of the snapshot users and the secrets of the snapshot clients from the provisioning realms,
+     * for example the realms created from the dev service configuration. The users and clients of the snapshot are
+     * matched by the realm name and the username or the client ID.
+     *
+     * @param realms the provisioning realms with the user passwords and the client secrets.
+     * @return this snapshot.
+     */
+    public RealmSnapshot withPasswords(RealmV1DTO... realms) {
+        for (RealmV1DTO realm : realms) {
+            var snapshot = this.realms.get(realm.getName());
+            if (snapshot == null) {
+                continue;
+            }
+            var snapshotUsers = emptyIfNull(snapshot.getUsers());
+            for (UserV1DTO user : emptyIfNull(realm.getUsers()).values()) {
+                var snapshotUser = snapshotUsers.get(user.getUsername());
+                if (snapshotUser != null && user.getPassword() != null) {
+                    snapshotUser.setPassword(user.getPassword());
+                }
+            }
+            var snapshotClients = emptyIfNull(snapshot.getClients());
+            for (ClientV1DTO client : emptyIfNull(realm.getClients()).values()) {
+                var snapshotClient = snapshotClients.get(client.getClientId());
+                if (snapshotClient != null && client.getClientSecret() != null) {
+                    snapshotClient.setClientSecret(client.getClientSecret());
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Loads the snapshot from the file.
+     *
+     * @param file the snapshot file.
+     * @return the realm snapshot.
+     * @throws IOException if the file could not be read.
+     */
+    public static RealmSnapshot load(Path file) throws IOException {
+        var realms = AdminJsonCodec.decodeList(Files.readAllBytes(file), RealmV1DTO.class);
+        return of(realms.toArray(RealmV1DTO[]::new));
+    }
+
+    /**
+     * Saves the snapshot to the file. The known user passwords are part of the file.
+     *
+     * @param file the snapshot file.
+     * @throws IOException if the file could not be written.
+     */
+    public void save(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, AdminJsonCodec.encodeList(realms.values()));
+    }
+
+    /**
+     * Gets the realm names of the snapshot.
+     *
+     * @return the realm names.
+     */
+    public Set<String> getRealms() {
+        return Collections.unmodifiableSet(realms.keySet());
+    }
+
+    /**
+     * Restores the snapshot in the lorisgate server. Only the differences are applied.
+     *
+     * @param client the lorisgate client.
+     * @return the number of applied changes.
+     */
+    public int restore(LorisgateAdminClient client) {
+        int changes = 0;
+        for (RealmV1DTO realm : realms.values()) {
+            changes += restore(client, realm);
+        }
+        log.debug("Lorisgate realms {} restored with {} changes", realms.keySet(), changes);
+        return changes;
+    }
+
+    private static int restore(LorisgateAdminClient client, RealmV1DTO realm) {
+        String name = realm.getName();
+        var current = client.getRealm(name);
+        if (current == null) {
+            client.createRealm(realm);
+            return 1;
+        }
+
+        int changes = 0;
+        if (!Objects.equals(realm.getDisplayName(), current.getDisplayName())
+                || !Objects.equals(realm.getEnabled(), current.getEnabled())
+                || !Objects.equals(realm.getFrontendUrl(), current.getFrontendUrl())
+                || !sameRoles(emptyIfNull(realm.getRoles()), emptyIfNull(current.getRoles()))) {
+            client.updateRealm(new RealmV1DTO().name(name).displayName(realm.getDisplayName()).enabled(realm.getEnabled())
+                    .frontendUrl(realm.getFrontendUrl()).roles(realm.getRoles()));
+            changes++;
+        }
+
+        // clients
+        var clients = emptyIfNull(realm.getClients());
+        var currentClients = toMap(client.getClients(name), ClientV1DTO::getClientId);
+        for (String clientId : currentClients.keySet()) {
+            if (!clients.containsKey(clientId)) {
+                client.deleteClient(name, clientId);
+                changes++;
+            }
+        }
+        for (ClientV1DTO c : clients.values()) {
+            var currentClient = currentClients.get(c.getClientId());
+            if (currentClient == null) {
+                client.createClient(name, c);
+                changes++;
+            } else if (!sameClient(c, currentClient)) {
+                client.updateClient(name, c);
+                changes++;
+            }
+        }
+
+        // users, the password grant uses the restored client
+        var grantClient = grantClient(clients);
+        var users = emptyIfNull(realm.getUsers());
+        var currentUsers = toMap(client.getUsers(name), UserV1DTO::getUsername);
+        for (String username : currentUsers.keySet()) {
+            if (!users.containsKey(username)) {
+                client.deleteUser(name, username);
+                changes++;
+            }
+        }
+        for (UserV1DTO user : users.values()) {
+            var currentUser = currentUsers.get(user.getUsername());
+            if (currentUser == null) {
+                client.createUser(name, user);
+                changes++;
+            } else if (!sameUser(user, currentUser) || !samePassword(client, name, grantClient, user)) {
+                client.updateUser(name, user);
+                changes++;
+            }
+        }
+        return changes;
+    }
+
+    private static boolean sameRoles(Map<String, RoleV1DTO> a, Map<String, RoleV1DTO> b) {
+        if (!a.keySet().equals(b.keySet())) {
+            return false;
+        }
+        for (var entry : a.entrySet()) {
+            var role = entry.getValue();
+            var other = b.get(entry.getKey());
+            if (!Objects.equals(role.getDescription(), other.getDescription())
+                    || !Objects.equals(role.getEnabled(), other.getEnabled())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameUser(UserV1DTO a, UserV1DTO b) {
+        // the password is never returned by the server and the id is generated by the server
+        return Objects.equals(a.getEnabled(), b.getEnabled())
+                && Objects.equals(emptyIfNull(a.getRoles()), emptyIfNull(b.getRoles()))
+                && Objects.equals(emptyIfNull(a.getGroups()), emptyIfNull(b.getGroups()))
+                && Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getGivenName(), b.getGivenName())
+                && Objects.equals(a.getFamilyName(), b.getFamilyName())
+                && Objects.equals(a.getEmail(), b.getEmail())
+                && Objects.equals(a.getEmailVerified(), b.getEmailVerified());
+    }
+
+    private static boolean samePassword(LorisgateAdminClient client, String realm, ClientV1DTO grantClient,
+            UserV1DTO user) {
+        // the password of a disabled user can not be used, the enabled user is updated with the password
+        if (user.getPassword() == null || Boolean.FALSE.equals(user.getEnabled())) {
+            return true;
+        }
+        // the changed password is not visible, without a client for the grant the password is set again
+        return grantClient != null && client.checkPassword(realm, grantClient, user.getUsername(), user.getPassword());
+    }
+
+    private static ClientV1DTO grantClient(Map<String, ClientV1DTO> clients) {
+        // the first confidential client with the secret by the client ID, otherwise the first public client
+        var sorted = new TreeMap<>(clients).values();
+        return sorted.stream()
+                .filter(c -> !Boolean.FALSE.equals(c.getConfidential()) && c.getClientSecret() != null)
+                .findFirst()
+                .or(() -> sorted.stream().filter(c -> Boolean.FALSE.equals(c.getConfidential())).findFirst())
+                .orElse(null);
+    }
+
+    private static boolean sameClient(ClientV1DTO a, ClientV1DTO b) {
+        return Objects.equals(a.getConfidential(), b.getConfidential())
+                && (a.getClientSecret() == null || Objects.equals(a.getClientSecret(), b.getClientSecret()))
+                && Objects.equals(emptyIfNull(a.getScopes()), emptyIfNull(b.getScopes()))
+                && Objects.equals(emptyIfNull(a.getRoles()), emptyIfNull(b.getRoles()))
+                && Objects.equals(emptyIfNull(a.getRedirectUris()), emptyIfNull(b.getRedirectUris()));
+    }
+
+    private static <T> Map<String, T> toMap(List<T> items, Function<T, String> key) {
+        Map<String, T> result = new LinkedHashMap<>();
+        for (T item : items) {
+            result.put(key.apply(item), item);
+        }
+        return result;
+    }
+
+    private static <K, V> Map<K, V> emptyIfNull(Map<K, V> map) {
+        return map == null ? Map.of() : map;
+    }
+
+    private static <T> Set<T> emptyIfNull(Set<T> set) {
+        return set == null ? Set.of() : set;
+    }
+}
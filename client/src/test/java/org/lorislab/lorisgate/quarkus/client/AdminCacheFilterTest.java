@@ -0,0 +1,243 @@
+package org.lorislab.lorisgate.quarkus.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+
+import org.junit.jupiter.api.Test;
+
+class AdminCacheFilterTest {
+
+    private static final String URL = "http://localhost:8080/admin/realms/test";
+
+    private static final String BODY = "{\"name\":\"test\"}";
+
+    @Test
+    void testEtagRevalidation() throws Exception {
+        var filter = filter(AdminResponseCache.Mode.ETAG);
+
+        var first = new Request("GET");
+        filter.filter(first.context);
+        filter.filter(first.context, new Reply(200, "\"v1\"", BODY).context);
+        assertThat(first.headers.getFirst(HttpHeaders.IF_NONE_MATCH)).isNull();
+
+        // the cached validator is sent, the not modified response returns the cached body
+        var second = new Request("GET");
+        filter.filter(second.context);
+        assertThat(second.headers.getFirst(HttpHeaders.IF_NONE_MATCH)).isEqualTo("\"v1\"");
+
+        var notModified = new Reply(304, null, null);
+        filter.filter(second.context, notModified.context);
+        assertThat(notModified.status).isEqualTo(200);
+        assertThat(notModified.body()).isEqualTo(BODY);
+    }
+
+    @Test
+    void testEtagWithoutValidator() throws Exception {
+        var filter = filter(AdminResponseCache.Mode.ETAG);
+
+        var first = new Request("GET");
+        filter.filter(first.context);
+        filter.filter(first.context, new Reply(200, null, BODY).context);
+
+        var second = new Request("GET");
+        filter.filter(second.context);
+        assertThat(second.headers.getFirst(HttpHeaders.IF_NONE_MATCH)).isNull();
+        assertThat(second.aborted).isNull();
+    }
+
+    @Test
+    void testTtl() throws Exception {
+        var filter = filter(AdminResponseCache.Mode.TTL);
+
+        var first = new Request("GET");
+        filter.filter(first.context);
+        var reply = new Reply(200, null, BODY);
+        filter.filter(first.context, reply.context);
+        // the body is still readable after caching
+        assertThat(reply.body()).isEqualTo(BODY);
+
+        // fresh entry, the request is not sent and every call gets its own body
+        var second = new Request("GET");
+        filter.filter(second.context);
+        assertThat(second.aborted).isNotNull();
+        assertThat(second.aborted.getStatus()).isEqualTo(200);
+        assertThat((byte[]) second.aborted.getEntity()).asString(StandardCharsets.UTF_8).isEqualTo(BODY);
+    }
+
+    @Test
+    void testTtlExpired() throws Exception {
+        var filter = new AdminCacheFilter(new AdminResponseCache(AdminResponseCache.Mode.TTL, 10, Duration.ZERO));
+
+        var first = new Request("GET");
+        filter.filter(first.context);
+        filter.filter(first.context, new Reply(200, null, BODY).context);
+        Thread.sleep(1);
+
+        var second = new Request("GET");
+        filter.filter(second.context);
+        assertThat(second.aborted).isNull();
+    }
+
+    @Test
+    void testModificationInvalidates() throws Exception {
+        var filter = filter(AdminResponseCache.Mode.TTL);
+
+        var first = new Request("GET");
+        filter.filter(first.context);
+        filter.filter(first.context, new Reply(200, null, BODY).context);
+
+        filter.filter(new Request("PUT").context);
+
+        var second = new Request("GET");
+        filter.filter(second.context);
+        assertThat(second.aborted).isNull();
+    }
+
+    @Test
+    void testKeyedByAuthorization() throws Exception {
+        var filter = filter(AdminResponseCache.Mode.TTL);
+
+        var first = new Request("GET", "Bearer alice");
+        filter.filter(first.context);
+        filter.filter(first.context, new Reply(200, null, BODY).context);
+
+        // the response of one caller is never returned to a different caller
+        var other = new Request("GET", "Bearer bob");
+        filter.filter(other.context);
+        assertThat(other.aborted).isNull();
+
+        var anonymous = new Request("GET");
+        filter.filter(anonymous.context);
+        assertThat(anonymous.aborted).isNull();
+
+        var same = new Request("GET", "Bearer alice");
+        filter.filter(same.context);
+        assertThat(same.aborted).isNotNull();
+    }
+
+    @Test
+    void testCachePerFilter() throws Exception {
+        var filter = filter(AdminResponseCache.Mode.TTL);
+
+        var first = new Request("GET");
+        filter.filter(first.context);
+        filter.filter(first.context, new Reply(200, null, BODY).context);
+
+        // a different admin client does not read the cached response
+        var second = new Request("GET");
+        filter(AdminResponseCache.Mode.TTL).filter(second.context);
+        assertThat(second.aborted).isNull();
+    }
+
+    @Test
+    void testDisabled() throws Exception {
+        var filter = filter(AdminResponseCache.Mode.DISABLED);
+
+        var first = new Request("GET");
+        filter.filter(first.context);
+        filter.filter(first.context, new Reply(200, "\"v1\"", BODY).context);
+
+        var second = new Request("GET");
+        filter.filter(second.context);
+        assertThat(second.headers.getFirst(HttpHeaders.IF_NONE_MATCH)).isNull();
+        assertThat(second.aborted).isNull();
+    }
+
+    private static AdminCacheFilter filter(AdminResponseCache.Mode mode) {
+        return new AdminCacheFilter(new AdminResponseCache(mode, 10, Duration.ofMinutes(1)));
+    }
+
+    /**
+     * Request context of the filter.
+     */
+    private static class Request {
+
+        private final Map<String, Object> properties = new HashMap<>();
+
+        private final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+
+        private Response aborted;
+
+        private final ClientRequestContext context;
+
+        private Request(String method) {
+            this(method, null);
+        }
+
+        private Request(String method, String authorization) {
+            if (authorization != null) {
+                headers.putSingle(HttpHeaders.AUTHORIZATION, authorization);
+            }
+            context = (ClientRequestContext) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { ClientRequestContext.class }, (proxy, m, args) -> switch (m.getName()) {
+                        case "getMethod" -> method;
+                        case "getUri" -> URI.create(URL);
+                        case "getHeaders" -> headers;
+                        case "getHeaderString" -> (String) headers.getFirst((String) args[0]);
+                        case "getProperty" -> properties.get((String) args[0]);
+                        case "setProperty" -> properties.put((String) args[0], args[1]);
+                        case "abortWith" -> aborted = (Response) args[0];
+                        default -> throw new UnsupportedOperationException(m.getName());
+                    });
+        }
+    }
+
+    /**
+     * Response context of the filter.
+     */
+    private static class Reply {
+
+        private final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+
+        private int status;
+
+        private InputStream entity;
+
+        private final ClientResponseContext context;
+
+        private Reply(int status, String etag, String body) {
+            this.status = status;
+            if (etag != null) {
+                headers.putSingle(HttpHeaders.ETAG, etag);
+            }
+            headers.putSingle(HttpHeaders.CONTENT_TYPE, "application/json");
+            entity = body == null ? null : new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+            context = (ClientResponseContext) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { ClientResponseContext.class }, (proxy, m, args) -> switch (m.getName()) {
+                        case "getStatus" -> this.status;
+                        case "setStatus" -> {
+                            this.status = (int) args[0];
+                            yield null;
+                        }
+                        case "getHeaders" -> headers;
+                        case "getHeaderString" -> headers.getFirst((String) args[0]);
+                        case "hasEntity" -> entity != null;
+                        case "getEntityStream" -> entity;
+                        case "setEntityStream" -> {
+                            entity = (InputStream) args[0];
+                            yield null;
+                        }
+                        default -> throw new UnsupportedOperationException(m.getName());
+                    });
+        }
+
+        private String body() throws Exception {
+            return new String(entity.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
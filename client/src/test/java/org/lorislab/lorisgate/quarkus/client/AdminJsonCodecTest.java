@@ -0,0 +1,259 @@
+package org.lorislab.lorisgate.quarkus.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import gen.org.lorislab.lorisgate.client.admin.v1.model.ClientSearchResultV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.ClientV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.RealmItemV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.RealmSearchResultV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.RealmV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.RoleV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.UserSearchResultV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.UserV1DTO;
+
+class AdminJsonCodecTest {
+
+    @Test
+    void testRoundTrip() {
+        List<Object> values = List.of(realm(), role(), client(), user(),
+                new RealmItemV1DTO().name("quarkus").displayName("Quarkus"),
+                new RealmSearchResultV1DTO().items(new ArrayList<>(List.of(
+                        new RealmItemV1DTO().name("quarkus").displayName("Quarkus"), new RealmItemV1DTO().name("test")))),
+                new ClientSearchResultV1DTO().items(new ArrayList<>(List.of(client()))),
+                new UserSearchResultV1DTO().items(new ArrayList<>(List.of(user()))));
+
+        for (Object value : values) {
+            assertThat(AdminJsonCodec.supports(value.getClass())).isTrue();
+            assertThat(AdminJsonCodec.decode(AdminJsonCodec.encode(value), value.getClass()))
+                    .as(value.getClass().getSimpleName()).isEqualTo(value);
+        }
+        assertThat(AdminJsonCodec.supports(String.class)).isFalse();
+    }
+
+    @Test
+    void testList() {
+        var realms = List.of(realm(), new RealmV1DTO().name("empty"));
+        assertThat(AdminJsonCodec.decodeList(AdminJsonCodec.encodeList(realms), RealmV1DTO.class)).isEqualTo(realms);
+        assertThat(AdminJsonCodec.decodeList("[]".getBytes(StandardCharsets.UTF_8), RealmV1DTO.class)).isEmpty();
+    }
+
+    @Test
+    void testNullFields() {
+        // null fields are not written
+        var user = new UserV1DTO().username("alice").enabled(null).emailVerified(null).roles(null).groups(null);
+        assertThat(new String(AdminJsonCodec.encode(user), StandardCharsets.UTF_8)).isEqualTo("{\"username\":\"alice\"}");
+
+        var realm = decode("""
+                {"name":"quarkus","displayName":null,"enabled":null,"roles":null,"clients":null,"users":null}
+                """, RealmV1DTO.class);
+        assertThat(realm.getName()).isEqualTo("quarkus");
+        assertThat(realm.getDisplayName()).isNull();
+        assertThat(realm.getEnabled()).isNull();
+        assertThat(realm.getRoles()).isNull();
+        assertThat(realm.getClients()).isNull();
+        assertThat(realm.getUsers()).isNull();
+
+        var client = decode("""
+                {"clientId":"app","clientSecret":null,"confidential":null,"scopes":null,"roles":null,"redirectUris":null}
+                """, ClientV1DTO.class);
+        assertThat(client.getClientId()).isEqualTo("app");
+        assertThat(client.getClientSecret()).isNull();
+        assertThat(client.getScopes()).isNull();
+        assertThat(client.getRedirectUris()).isNull();
+
+        assertThat(decode("null", RealmV1DTO.class)).isNull();
+        assertThat(decode("", RealmV1DTO.class)).isNull();
+    }
+
+    @Test
+    void testUnknownFields() {
+        var realm = decode("""
+                {"id":1,"name":"quarkus","attributes":{"a":[1,{"b":null}]},"tags":["x","y"],
+                 "users":{"alice":{"username":"alice","createdTimestamp":1700000000,"credentials":[{"type":"password"}],
+                 "roles":["user"]}},"enabled":true}
+                """, RealmV1DTO.class);
+
+        assertThat(realm.getName()).isEqualTo("quarkus");
+        assertThat(realm.getEnabled()).isTrue();
+        assertThat(realm.getUsers()).containsOnlyKeys("alice");
+        assertThat(realm.getUsers().get("alice").getUsername()).isEqualTo("alice");
+        assertThat(realm.getUsers().get("alice").getRoles()).containsExactly("user");
+
+        var result = decode("""
+                {"total":1,"items":[{"name":"quarkus","unknown":{"x":1}}],"page":{"size":10}}
+                """, RealmSearchResultV1DTO.class);
+        assertThat(result.getItems()).containsExactly(new RealmItemV1DTO().name("quarkus"));
+    }
+
+    @Test
+    void testYaml() throws Exception {
+        String yaml = """
+                name: quarkus
+                displayName: Quarkus
+                enabled: true
+                unknown:
+                  - 1
+                roles:
+                  user:
+                    name: user
+                    enabled: true
+                users:
+                  alice:
+                    username: alice
+                    password: alice
+                    emailVerified: true
+                    roles: [user]
+                clients:
+                  app:
+                    clientId: app
+                    confidential: false
+                    redirectUris: ["*"]
+                """;
+        try (var parser = new YAMLFactory().createParser(yaml)) {
+            parser.nextToken();
+            var realm = AdminJsonCodec.read(parser, RealmV1DTO.class);
+
+            assertThat(realm).isEqualTo(new RealmV1DTO().name("quarkus").displayName("Quarkus").enabled(true)
+                    .roles(Map.of("user", new RoleV1DTO().name("user").enabled(true)))
+                    .users(Map.of("alice", new UserV1DTO().username("alice").password("alice").emailVerified(true)
+                            .roles(Set.of("user"))))
+                    .clients(Map.of("app", new ClientV1DTO().clientId("app").confidential(false)
+                            .redirectUris(Set.of("*")))));
+        }
+    }
+
+    @Test
+    void testAllModelFields() throws Exception {
+        var types = modelTypes();
+        assertThat(types).contains(RealmV1DTO.class, UserV1DTO.class, ClientV1DTO.class);
+
+        // every field of every generated DTO survives the round trip, a new field in the API must be mapped
+        for (Class<?> type : types) {
+            assertThat(AdminJsonCodec.supports(type)).as(type.getSimpleName()).isTrue();
+            var value = sample(type);
+            var decoded = AdminJsonCodec.decode(AdminJsonCodec.encode(value), type);
+            for (Field field : fields(type)) {
+                assertThat(field.get(decoded)).as(type.getSimpleName() + "." + field.getName())
+                        .isNotNull()
+                        .isEqualTo(field.get(value));
+            }
+        }
+    }
+
+    private static List<Class<?>> modelTypes() throws Exception {
+        String pkg = RealmV1DTO.class.getPackageName();
+        String dir = pkg.replace('.', '/');
+        Path location = Path.of(RealmV1DTO.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<String> names;
+        if (Files.isDirectory(location)) {
+            try (Stream<Path> files = Files.list(location.resolve(dir))) {
+                names = files.map(f -> f.getFileName().toString()).toList();
+            }
+        } else {
+            try (var zip = new ZipFile(location.toFile())) {
+                names = zip.stream().map(e -> e.getName())
+                        .filter(n -> n.startsWith(dir + "/") && n.indexOf('/', dir.length() + 1) < 0)
+                        .map(n -> n.substring(dir.length() + 1)).toList();
+            }
+        }
+        List<Class<?>> result = new ArrayList<>();
+        for (String name : names) {
+            if (name.endsWith("V1DTO.class")) {
+                result.add(Class.forName(pkg + "." + name.substring(0, name.length() - ".class".length())));
+            }
+        }
+        return result;
+    }
+
+    private static List<Field> fields(Class<?> type) {
+        List<Field> result = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                field.setAccessible(true);
+                result.add(field);
+            }
+        }
+        return result;
+    }
+
+    private static Object sample(Class<?> type) throws Exception {
+        var value = type.getDeclaredConstructor().newInstance();
+        for (Field field : fields(type)) {
+            field.set(value, sample(field.getGenericType(), field.getName()));
+        }
+        return value;
+    }
+
+    private static Object sample(Type type, String name) throws Exception {
+        if (type == String.class) {
+            return name + "-value";
+        }
+        if (type == Boolean.class) {
+            // the opposite of the default value of the generated DTOs
+            return Boolean.FALSE;
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            var raw = parameterized.getRawType();
+            var args = parameterized.getActualTypeArguments();
+            if (raw == Set.class) {
+                return Set.of(sample(args[0], name));
+            }
+            if (raw == List.class) {
+                return new ArrayList<>(List.of(sample(args[0], name)));
+            }
+            if (raw == Map.class) {
+                return new HashMap<>(Map.of(name + "-key", sample(args[1], name)));
+            }
+        }
+        if (type instanceof Class<?> dto && AdminJsonCodec.supports(dto)) {
+            return sample(dto);
+        }
+        throw new IllegalArgumentException("Unsupported field type " + type + " of the field " + name);
+    }
+
+    private static <T> T decode(String json, Class<T> type) {
+        return AdminJsonCodec.decode(json.getBytes(StandardCharsets.UTF_8), type);
+    }
+
+    private static RealmV1DTO realm() {
+        return new RealmV1DTO().name("quarkus").displayName("Quarkus").frontendUrl("http://localhost:8080")
+                .enabled(true)
+                .roles(Map.of("admin", role()))
+                .clients(Map.of("quarkus-app", client()))
+                .users(Map.of("alice", user()));
+    }
+
+    private static RoleV1DTO role() {
+        return new RoleV1DTO().name("admin").description("Admin role").enabled(true);
+    }
+
+    private static ClientV1DTO client() {
+        return new ClientV1DTO().clientId("quarkus-app").clientSecret("secret").confidential(true)
+                .scopes(Set.of("openid", "email")).roles(Set.of("admin")).redirectUris(Set.of("*"));
+    }
+
+    private static UserV1DTO user() {
+        return new UserV1DTO().username("alice").id("alice-id").enabled(true).roles(Set.of("admin", "user"))
+                .name("Alice").givenName("Alice").familyName("Liddell").email("alice@localhost").password("alice")
+                .emailVerified(false).groups(Set.of("staff"));
+    }
+}
@@ -5,6 +5,7 @@ import org.lorislab.lorisgate.quarkus.deployment.devservices.LorisgateDevService
 import io.quarkus.runtime.annotations.ConfigPhase;
 import io.quarkus.runtime.annotations.ConfigRoot;
 import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
 
 @ConfigRoot(phase = ConfigPhase.BUILD_TIME)
@@ -16,4 +17,26 @@ public interface LorisgateBuildTimeConfig {
      */
     @WithName("devservices")
     LorisgateDevServicesConfig devService();
+
+    /**
+     * Readiness health check configuration.
+     */
+    @WithName("health")
+    HealthConfig health();
+
+    /**
+     * Readiness health check configuration.
+     */
+    interface HealthConfig {
+
+        /**
+         * Enable or disable the readiness health check and the probe latency gauge. The health check requires
+         * the quarkus-smallrye-health extension, the gauge requires the quarkus-micrometer extension.
+         * The check probes the {@code lorislab.lorisgate.endpoint}, enable it only with the endpoint of the
+         * lorisgate server or with the dev service, otherwise the application is not ready.
+         */
+        @WithName("enabled")
+        @WithDefault("false")
+        boolean enabled();
+    }
 }
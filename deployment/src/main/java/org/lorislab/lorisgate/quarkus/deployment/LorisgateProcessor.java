@@ -1,7 +1,25 @@
 package org.lorislab.lorisgate.quarkus.deployment;
 
+import java.util.Optional;
+
+import org.lorislab.lorisgate.quarkus.runtime.LorisgateContainerLogs;
+import org.lorislab.lorisgate.quarkus.runtime.LorisgateDevServiceTracing;
+import org.lorislab.lorisgate.quarkus.runtime.LorisgateHealthCheck;
+import org.lorislab.lorisgate.quarkus.runtime.LorisgateHealthMetrics;
+import org.lorislab.lorisgate.quarkus.runtime.LorisgateHealthProbe;
+import org.lorislab.lorisgate.quarkus.runtime.LorisgateOidcTracingFilter;
+import org.lorislab.lorisgate.quarkus.runtime.LorisgateTenantConfigResolver;
+import org.lorislab.lorisgate.quarkus.runtime.LorisgateTokenValueCache;
+
+import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
+import io.quarkus.deployment.Capabilities;
+import io.quarkus.deployment.Capability;
+import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
+import io.quarkus.deployment.metrics.MetricsCapabilityBuildItem;
+import io.quarkus.runtime.metrics.MetricsFactory;
+import io.quarkus.smallrye.health.deployment.spi.HealthBuildItem;
 
 public class LorisgateProcessor {
 
@@ -12,4 +30,52 @@ public class LorisgateProcessor {
         return new FeatureBuildItem(FEATURE_NAME);
     }
 
+    @BuildStep
+    public AdditionalBeanBuildItem beans() {
+        return AdditionalBeanBuildItem.builder()
+                .addBeanClasses(LorisgateTokenValueCache.class, LorisgateContainerLogs.class)
+                .setUnremovable()
+                .build();
+    }
+
+    @BuildStep
+    public void tenantResolver(Capabilities capabilities, BuildProducer<AdditionalBeanBuildItem> beans) {
+        // the resolver implements the quarkus-oidc API
+        if (capabilities.isPresent(Capability.OIDC)) {
+            beans.produce(AdditionalBeanBuildItem.unremovableOf(LorisgateTenantConfigResolver.class));
+        }
+    }
+
+    @BuildStep
+    public void tracing(Capabilities capabilities, BuildProducer<AdditionalBeanBuildItem> beans) {
+        if (!capabilities.isPresent(Capability.OPENTELEMETRY_TRACER)) {
+            return;
+        }
+        // spans of the dev service start recorded by the build
+        beans.produce(AdditionalBeanBuildItem.unremovableOf(LorisgateDevServiceTracing.class));
+
+        // spans of the OIDC requests
+        if (capabilities.isPresent(Capability.OIDC)) {
+            beans.produce(AdditionalBeanBuildItem.unremovableOf(LorisgateOidcTracingFilter.class));
+        }
+    }
+
+    @BuildStep
+    public void health(LorisgateBuildTimeConfig config, Capabilities capabilities,
+            Optional<MetricsCapabilityBuildItem> metricsCapability,
+            BuildProducer<AdditionalBeanBuildItem> beans, BuildProducer<HealthBuildItem> health) {
+        boolean healthCheck = capabilities.isPresent(Capability.SMALLRYE_HEALTH);
+        boolean metrics = metricsCapability.map(m -> m.metricsSupported(MetricsFactory.MICROMETER)).orElse(false);
+        if (!config.health().enabled() || (!healthCheck && !metrics)) {
+            return;
+        }
+        // the background probe is shared by the readiness check and the latency gauge
+        beans.produce(AdditionalBeanBuildItem.unremovableOf(LorisgateHealthProbe.class));
+        if (healthCheck) {
+            health.produce(new HealthBuildItem(LorisgateHealthCheck.class.getName(), true));
+        }
+        if (metrics) {
+            beans.produce(AdditionalBeanBuildItem.unremovableOf(LorisgateHealthMetrics.class));
+        }
+    }
 }
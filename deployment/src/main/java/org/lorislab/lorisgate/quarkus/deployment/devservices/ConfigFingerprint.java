@@ -0,0 +1,98 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+
+public final class ConfigFingerprint {
+
+    /**
+     * The package of the configuration groups.
+     */
+    private static final String GROUP_PACKAGE = ConfigFingerprint.class.getPackageName();
+
+    private ConfigFingerprint() {
+    }
+
+    /**
+     * Creates the fingerprint of the resolved dev service configuration. The values of the configuration mapping are
+     * used, so the properties, the environment variables and the profiles are all part of the fingerprint.
+     *
+     * @param config the dev service configuration.
+     * @return the SHA-256 fingerprint of the configuration values.
+     */
+    public static String create(LorisgateDevServicesConfig config) {
+        var data = new StringBuilder();
+        append(data, "", config, LorisgateDevServicesConfig.class);
+        return sha256(data.toString());
+    }
+
+    private static void append(StringBuilder data, String path, Object value, Class<?> group) {
+        var methods = Arrays.stream(group.getMethods())
+                .filter(m -> m.getParameterCount() == 0 && !Modifier.isStatic(m.getModifiers()) && !m.isDefault())
+                .sorted(Comparator.comparing(Method::getName))
+                .toList();
+        for (Method method : methods) {
+            try {
+                appendValue(data, path + method.getName(), method.invoke(value));
+            } catch (IllegalAccessException | InvocationTargetException ex) {
+                throw new IllegalStateException("Failed to read the configuration value " + path + method.getName(), ex);
+            }
+        }
+    }
+
+    private static void appendValue(StringBuilder data, String path, Object value) {
+        if (value instanceof Optional<?> optional) {
+            appendValue(data, path, optional.orElse(null));
+        } else if (value instanceof OptionalInt optional) {
+            appendValue(data, path, optional.isPresent() ? optional.getAsInt() : null);
+        } else if (value instanceof Map<?, ?> map) {
+            // sorted keys, the map implementation does not define the order
+            new TreeMap<>(map).forEach((k, v) -> appendValue(data, path + "." + k, v));
+        } else if (value instanceof Collection<?> collection) {
+            int i = 0;
+            for (Object item : collection) {
+                appendValue(data, path + "[" + i++ + "]", item);
+            }
+        } else if (value != null && group(value) != null) {
+            append(data, path + ".", value, group(value));
+        } else {
+            data.append(path).append('=').append(value).append('\n');
+        }
+    }
+
+    private static Class<?> group(Object value) {
+        for (Class<?> type : value.getClass().getInterfaces()) {
+            if (type.getName().startsWith(GROUP_PACKAGE)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates SHA-256 hex digest of the value.
+     *
+     * @param value the value.
+     * @return the hex digest.
+     */
+    static String sha256(String value) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
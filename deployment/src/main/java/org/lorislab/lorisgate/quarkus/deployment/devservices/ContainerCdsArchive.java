@@ -0,0 +1,142 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.BindMode;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.utility.DockerImageName;
+
+public class ContainerCdsArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(ContainerCdsArchive.class);
+
+    /**
+     * The archive directory in the container.
+     */
+    static final String CONTAINER_DIR = "/lorisgate-cds";
+
+    /**
+     * The stop timeout of the training container. The archive is written when the JVM exits.
+     */
+    private static final int STOP_TIMEOUT_SECONDS = 30;
+
+    /**
+     * The local archive directory.
+     */
+    private final Path dir;
+
+    /**
+     * The archive file name.
+     */
+    private final String fileName;
+
+    /**
+     * The builder method.
+     *
+     * @param dir the local archive directory.
+     * @param image the server image.
+     * @return the class data sharing archive.
+     */
+    public static ContainerCdsArchive create(Path dir, DockerImageName image) {
+        return new ContainerCdsArchive(dir, image);
+    }
+
+    /**
+     * The default constructor.
+     *
+     * @param dir the local archive directory.
+     * @param image the server image.
+     */
+    private ContainerCdsArchive(Path dir, DockerImageName image) {
+        this.dir = dir;
+        this.fileName = image.asCanonicalNameString().replaceAll("[^a-zA-Z0-9.-]", "_") + ".jsa";
+    }
+
+    /**
+     * Gets the local archive directory.
+     *
+     * @return the local archive directory.
+     */
+    public Path getDir() {
+        return dir;
+    }
+
+    /**
+     * Gets the JVM option to use the archive in the container.
+     *
+     * @return the JVM option.
+     */
+    public String getJavaOption() {
+        return "-XX:SharedArchiveFile=" + CONTAINER_DIR + "/" + fileName + " -Xshare:auto";
+    }
+
+    /**
+     * Generate the archive if it does not exist.
+     *
+     * @param image the server image.
+     * @param env the container environment variables.
+     * @param javaOptionsEnv the JVM options environment variable.
+     * @param timeout the startup timeout of the training container.
+     * @return the archive or empty if the archive could not be generated.
+     */
+    public Optional<ContainerCdsArchive> generateIfNotExists(DockerImageName image, Map<String, String> env,
+            String javaOptionsEnv, Optional<Duration> timeout) {
+
+        Path archive = dir.resolve(fileName);
+        if (Files.exists(archive)) {
+            log.debug("Lorisgate AppCDS archive '{}' already exists.", archive);
+            return Optional.of(this);
+        }
+
+        try {
+            Files.createDirectories(dir);
+            // the server user in the container must be able to write the archive
+            Files.setPosixFilePermissions(dir, PosixFilePermissions.fromString("rwxrwxrwx"));
+        } catch (UnsupportedOperationException ex) {
+            log.debug("Lorisgate AppCDS archive directory '{}' does not support posix permissions.", dir);
+        } catch (IOException ex) {
+            log.warn("Failed to create the Lorisgate AppCDS archive directory '{}'", dir, ex);
+            return Optional.empty();
+        }
+
+        log.info("Generating Lorisgate AppCDS archive '{}'", archive);
+        String options = "-XX:ArchiveClassesAtExit=" + CONTAINER_DIR + "/" + fileName;
+        String value = env.get(javaOptionsEnv);
+        if (value != null && !value.isBlank()) {
+            options = value + " " + options;
+        }
+
+        try (var container = new GenericContainer<>(image)) {
+            container.withEnv(env)
+                    .withEnv(javaOptionsEnv, options)
+                    .withFileSystemBind(dir.toString(), CONTAINER_DIR, BindMode.READ_WRITE)
+                    .withExposedPorts(DevServiceLorisgateProcessor.LORISGATE_EXPOSED_PORT)
+                    .waitingFor(Wait.forHttp("/q/health"));
+            timeout.ifPresent(container::withStartupTimeout);
+            container.start();
+
+            // graceful stop, the JVM writes the archive on exit
+            container.getDockerClient().stopContainerCmd(container.getContainerId())
+                    .withTimeout(STOP_TIMEOUT_SECONDS)
+                    .exec();
+        } catch (Exception ex) {
+            log.warn("Failed to generate the Lorisgate AppCDS archive '{}'", archive, ex);
+            return Optional.empty();
+        }
+
+        if (!Files.exists(archive)) {
+            log.warn("Lorisgate AppCDS archive '{}' was not created. Is the server image a JVM image?", archive);
+            return Optional.empty();
+        }
+        return Optional.of(this);
+    }
+}
@@ -0,0 +1,206 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import static io.quarkus.runtime.LaunchMode.DEVELOPMENT;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.DockerClientFactory;
+
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.model.ExposedPort;
+import com.github.dockerjava.api.model.Ports;
+
+import io.quarkus.devservices.common.ContainerAddress;
+import io.quarkus.runtime.LaunchMode;
+
+public class ContainerDiscoveryCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ContainerDiscoveryCache.class);
+
+    /**
+     * The default local state file in the {@link RealmPayloads#DIR} directory.
+     */
+    public static final String FILE = "discovery-cache.properties";
+
+    /**
+     * The container label.
+     */
+    private final String label;
+
+    /**
+     * The exposed port of the container.
+     */
+    private final int exposedPort;
+
+    /**
+     * The local state file.
+     */
+    private final Path file;
+
+    /**
+     * The builder method.
+     *
+     * @param label the container label.
+     * @param exposedPort the exposed port of the container.
+     * @param file the local state file.
+     * @return the discovery cache.
+     */
+    public static ContainerDiscoveryCache create(String label, int exposedPort, Path file) {
+        return new ContainerDiscoveryCache(label, exposedPort, file);
+    }
+
+    /**
+     * The default constructor.
+     *
+     * @param label the container label.
+     * @param exposedPort the exposed port of the container.
+     * @param file the local state file.
+     */
+    private ContainerDiscoveryCache(String label, int exposedPort, Path file) {
+        this.label = label;
+        this.exposedPort = exposedPort;
+        this.file = file;
+    }
+
+    /**
+     * Locate the shared container. The cached entry is verified with a single container inspect call, the container
+     * must run with the service label and publish the exposed port on the cached port. The label scan is used only
+     * when the verification fails.
+     *
+     * @param serviceName the service name.
+     * @param shared the shared flag.
+     * @param launchMode the launch mode.
+     * @param fingerprint the configuration fingerprint.
+     * @param scan the label scan.
+     * @return the located container address.
+     */
+    public Optional<ContainerAddress> locate(String serviceName, boolean shared, LaunchMode launchMode, String fingerprint,
+            Supplier<Optional<ContainerAddress>> scan) {
+
+        if (!shared || launchMode != DEVELOPMENT) {
+            return scan.get();
+        }
+
+        Entry entry = load(serviceName);
+        if (entry != null && entry.fingerprint().equals(fingerprint) && verify(entry, serviceName)) {
+            log.debug("Lorisgate container '{}' found in the discovery cache.", entry.id());
+            return Optional.of(new ContainerAddress(entry.id(), entry.host(), entry.port()));
+        }
+
+        var result = scan.get();
+        result.ifPresent(address -> put(serviceName, address, fingerprint));
+        return result;
+    }
+
+    /**
+     * Put the started container to the cache.
+     *
+     * @param serviceName the service name.
+     * @param address the container address.
+     * @param fingerprint the configuration fingerprint.
+     */
+    public void put(String serviceName, ContainerAddress address, String fingerprint) {
+        store(serviceName, new Entry(address.getId(), address.getHost(), address.getPort(), fingerprint));
+    }
+
+    private boolean verify(Entry entry, String serviceName) {
+        try {
+            var info = DockerClientFactory.instance().client().inspectContainerCmd(entry.id()).exec();
+            return Boolean.TRUE.equals(info.getState().getRunning())
+                    && info.getConfig() != null && info.getConfig().getLabels() != null
+                    && serviceName.equals(info.getConfig().getLabels().get(label))
+                    && mappedPort(info).filter(port -> port == entry.port()).isPresent();
+        } catch (Exception ex) {
+            log.debug("Cached Lorisgate container '{}' is not available.", entry.id(), ex);
+            return false;
+        }
+    }
+
+    /**
+     * Gets the host port of the exposed port from the container inspect response.
+     */
+    private Optional<Integer> mappedPort(InspectContainerResponse info) {
+        if (info.getNetworkSettings() == null || info.getNetworkSettings().getPorts() == null) {
+            return Optional.empty();
+        }
+        Ports.Binding[] bindings = info.getNetworkSettings().getPorts().getBindings().get(ExposedPort.tcp(exposedPort));
+        if (bindings == null) {
+            return Optional.empty();
+        }
+        for (Ports.Binding binding : bindings) {
+            try {
+                return Optional.of(Integer.parseInt(binding.getHostPortSpec()));
+            } catch (NumberFormatException ex) {
+                // port range, not published by the dev service
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Entry load(String serviceName) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        var properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        } catch (IOException ex) {
+            log.debug("Failed to read the Lorisgate discovery cache file '{}'", file, ex);
+            return null;
+        }
+        String id = properties.getProperty(serviceName + ".id");
+        String host = properties.getProperty(serviceName + ".host");
+        String port = properties.getProperty(serviceName + ".port");
+        String fingerprint = properties.getProperty(serviceName + ".fingerprint");
+        if (id == null || host == null || port == null || fingerprint == null) {
+            return null;
+        }
+        try {
+            return new Entry(id, host, Integer.parseInt(port), fingerprint);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private void store(String serviceName, Entry entry) {
+        var properties = new Properties();
+        try {
+            if (Files.exists(file)) {
+                try (Reader reader = Files.newBufferedReader(file)) {
+                    properties.load(reader);
+                }
+            } else if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            properties.setProperty(serviceName + ".id", entry.id());
+            properties.setProperty(serviceName + ".host", entry.host());
+            properties.setProperty(serviceName + ".port", "" + entry.port());
+            properties.setProperty(serviceName + ".fingerprint", entry.fingerprint());
+            try (Writer writer = Files.newBufferedWriter(file)) {
+                properties.store(writer, "Lorisgate dev service discovery cache");
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to write the Lorisgate discovery cache file '{}'", file, ex);
+        }
+    }
+
+    /**
+     * The discovery cache entry.
+     *
+     * @param id the container ID.
+     * @param host the container host.
+     * @param port the container port.
+     * @param fingerprint the configuration fingerprint.
+     */
+    private record Entry(String id, String host, int port, String fingerprint) {
+    }
+}
@@ -1,61 +1,334 @@
 package org.lorislab.lorisgate.quarkus.deployment.devservices;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testcontainers.containers.output.BaseConsumer;
 import org.testcontainers.containers.output.OutputFrame;
-import org.testcontainers.containers.output.Slf4jLogConsumer;
 
-public class ContainerLogger extends BaseConsumer<Slf4jLogConsumer> {
+public class ContainerLogger extends BaseConsumer<ContainerLogger> implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ContainerLogger.class);
+
+    /**
+     * The interval of the tail file flush in milliseconds.
+     */
+    private static final long FLUSH_INTERVAL = 500;
+
+    /**
+     * The open container loggers with the tail file. The logger is removed when the container is closed.
+     */
+    private static final Set<ContainerLogger> ACTIVE = ConcurrentHashMap.newKeySet();
+
+    private static volatile ScheduledExecutorService flusher;
 
     /**
-     * The line break pattern
+     * The end of the log stream marker.
      */
-    private static final String LINE_BREAK_AT_END_REGEX = "((\\r?\\n)|(\\r))$";
+    private static final Line END = new Line(OutputFrame.OutputType.END, "");
 
     /**
      * The logger prefix
      */
     private final String prefix;
 
+    /**
+     * The container logger.
+     */
+    private final Logger log;
+
+    /**
+     * Write the container log lines to the logger.
+     */
+    private final boolean enabled;
+
+    /**
+     * The bounded log buffer.
+     */
+    private final BlockingQueue<Line> buffer;
+
+    /**
+     * The buffer capacity.
+     */
+    private final int capacity;
+
+    /**
+     * The overflow policy.
+     */
+    private final LorisgateDevServicesConfig.LogBufferConfig.OverflowPolicy policy;
+
+    /**
+     * The sample rate.
+     */
+    private final int sampleRate;
+
+    /**
+     * The sequence of the received lines.
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * The number of the dropped lines since the last report.
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * The retained log tail.
+     */
+    private final String[] tail;
+
+    /**
+     * The next tail index.
+     */
+    private long tailIndex;
+
+    /**
+     * The tail file read by the application, or {@code null}.
+     */
+    private final Path tailFile;
+
+    /**
+     * The tail has changed since the last flush.
+     */
+    private volatile boolean dirty;
+
+    /**
+     * The logger is closed.
+     */
+    private final AtomicBoolean closed = new AtomicBoolean();
+
     /**
      * The builder method.
      *
      * @param prefix the logger prefix.
-     * @return the system out container logger.
+     * @param enabled write the container log lines to the logger.
+     * @param config the log buffer configuration.
+     * @param tailFile the tail file read by the application, or {@code null}.
+     * @return the container logger.
      */
-    public static ContainerLogger create(String prefix) {
-        return new ContainerLogger(prefix);
+    public static ContainerLogger create(String prefix, boolean enabled, LorisgateDevServicesConfig.LogBufferConfig config,
+            Path tailFile) {
+        var logger = new ContainerLogger(prefix, enabled, config.size(), config.overflowPolicy(), config.sampleRate(),
+                config.tailSize(), config.tailSize() > 0 ? tailFile : null);
+        if (logger.tailFile != null) {
+            ACTIVE.add(logger);
+            startFlusher();
+        }
+        return logger;
     }
 
     /**
      * The default constructor.
      *
      * @param prefix the logger prefix.
+     * @param enabled write the container log lines to the logger.
+     * @param capacity the buffer capacity.
+     * @param policy the overflow policy.
+     * @param sampleRate the sample rate.
+     * @param tailSize the tail size.
+     * @param tailFile the tail file or {@code null}.
      */
-    private ContainerLogger(String prefix) {
+    private ContainerLogger(String prefix, boolean enabled, int capacity,
+            LorisgateDevServicesConfig.LogBufferConfig.OverflowPolicy policy, int sampleRate, int tailSize, Path tailFile) {
         this.prefix = "[" + prefix + "] ";
+        this.log = LoggerFactory.getLogger(ContainerLogger.class.getName() + "." + prefix);
+        this.enabled = enabled;
+        this.capacity = Math.max(1, capacity);
+        this.buffer = new ArrayBlockingQueue<>(this.capacity + 1);
+        this.policy = policy;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.tail = new String[Math.max(0, tailSize)];
+        this.tailFile = tailFile;
+
+        if (enabled) {
+            Thread writer = new Thread(this::write, "lorisgate-log-" + prefix);
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    /**
+     * Gets the retained log tail.
+     *
+     * @return the last container log lines, oldest first.
+     */
+    public synchronized List<String> tail() {
+        int size = (int) Math.min(tailIndex, tail.length);
+        List<String> result = new ArrayList<>(size);
+        for (long i = tailIndex - size; i < tailIndex; i++) {
+            result.add(tail[(int) (i % tail.length)]);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the tail file.
+     *
+     * @return the tail file or {@code null}.
+     */
+    public Path getTailFile() {
+        return tailFile;
+    }
+
+    /**
+     * Stops the writer, writes the tail file and removes the logger from the flushed loggers. Called when the
+     * container is closed or the log stream ends.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (enabled) {
+            // the end marker uses the reserved slot and is never dropped
+            buffer.offer(END);
+        }
+        if (tailFile != null) {
+            ACTIVE.remove(this);
+            flush();
+        }
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    @SuppressWarnings("squid:S106")
     public void accept(OutputFrame outputFrame) {
         OutputFrame.OutputType outputType = outputFrame.getType();
+        if (outputType == OutputFrame.OutputType.END) {
+            close();
+            return;
+        }
+        if (outputType != OutputFrame.OutputType.STDOUT && outputType != OutputFrame.OutputType.STDERR) {
+            throw new IllegalArgumentException("Unexpected outputType " + outputType);
+        }
+
+        String line = stripLineBreak(outputFrame.getUtf8String());
+        if (tail.length > 0) {
+            addTail(line);
+        }
+        if (!enabled) {
+            return;
+        }
+
+        long seq = sequence.incrementAndGet();
+        int size = buffer.size();
+        boolean accept = size < capacity;
+        if (accept && policy == LorisgateDevServicesConfig.LogBufferConfig.OverflowPolicy.SAMPLE && size >= capacity / 2) {
+            accept = seq % sampleRate == 0;
+        }
+        if (!accept || !buffer.offer(new Line(outputType, line))) {
+            dropped.incrementAndGet();
+        }
+    }
 
-        String utf8String = outputFrame.getUtf8String();
-        utf8String = utf8String.replaceAll(LINE_BREAK_AT_END_REGEX, "");
-        switch (outputType) {
-            case END:
-                break;
-            case STDOUT:
-                System.out.println(prefix + utf8String);
-                break;
-            case STDERR:
-                System.err.println(prefix + utf8String);
-                break;
-            default:
-                throw new IllegalArgumentException("Unexpected outputType " + outputType);
+    /**
+     * Write the buffered lines to the logger until the end of the log stream.
+     */
+    private void write() {
+        try {
+            while (true) {
+                Line line = buffer.take();
+                long count = dropped.getAndSet(0);
+                if (count > 0) {
+                    log.warn("{}{} container log lines dropped", prefix, count);
+                }
+                switch (line.type) {
+                    case END:
+                        return;
+                    case STDERR:
+                        log.warn("{}{}", prefix, line.text);
+                        break;
+                    default:
+                        log.info("{}{}", prefix, line.text);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void addTail(String line) {
+        tail[(int) (tailIndex % tail.length)] = line;
+        tailIndex++;
+        dirty = true;
+    }
+
+    /**
+     * Writes the tail file if the tail has changed. The file is replaced atomically, the reader never sees
+     * a partially written file.
+     */
+    private void flush() {
+        if (tailFile == null || !dirty) {
+            return;
+        }
+        dirty = false;
+        try {
+            Files.createDirectories(tailFile.getParent());
+            Path tmp = Files.createTempFile(tailFile.getParent(), tailFile.getFileName().toString(), ".tmp");
+            Files.write(tmp, tail(), StandardCharsets.UTF_8);
+            Files.move(tmp, tailFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            LOG.debug("Failed to write the container log tail {}", tailFile, ex);
+        }
+    }
+
+    private static void startFlusher() {
+        if (flusher != null) {
+            return;
         }
+        synchronized (ContainerLogger.class) {
+            if (flusher == null) {
+                flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "lorisgate-log-tail");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                flusher.scheduleWithFixedDelay(() -> ACTIVE.forEach(ContainerLogger::flush), FLUSH_INTERVAL,
+                        FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Strip the line break at the end of the string.
+     *
+     * @param value the string.
+     * @return the string without the line break at the end.
+     */
+    static String stripLineBreak(String value) {
+        int end = value.length();
+        if (end > 0 && value.charAt(end - 1) == '\n') {
+            end--;
+        }
+        if (end > 0 && value.charAt(end - 1) == '\r') {
+            end--;
+        }
+        return end == value.length() ? value : value.substring(0, end);
+    }
+
+    /**
+     * The buffered log line.
+     *
+     * @param type the output type.
+     * @param text the log line.
+     */
+    private record Line(OutputFrame.OutputType type, String text) {
     }
 }
@@ -6,6 +6,9 @@ import static io.quarkus.runtime.LaunchMode.DEVELOPMENT;
 import static org.lorislab.lorisgate.quarkus.deployment.LorisgateProcessor.FEATURE_NAME;
 import static org.lorislab.lorisgate.quarkus.deployment.devservices.LorisgateClient.*;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
@@ -22,15 +25,22 @@ import org.testcontainers.containers.Network;
 import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.utility.DockerImageName;
 
+import com.github.dockerjava.api.model.HostConfig;
+
+import io.quarkus.deployment.Capabilities;
+import io.quarkus.deployment.Capability;
 import io.quarkus.deployment.IsDevServicesSupportedByLaunchMode;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.annotations.BuildSteps;
 import io.quarkus.deployment.builditem.*;
 import io.quarkus.deployment.dev.devservices.DevServicesConfig;
+import io.quarkus.deployment.pkg.builditem.OutputTargetBuildItem;
 import io.quarkus.devservices.common.ConfigureUtil;
+import io.quarkus.devservices.common.ContainerAddress;
 import io.quarkus.devservices.common.ContainerLocator;
 import io.quarkus.devservices.common.ContainerShutdownCloseable;
 import io.quarkus.runtime.LaunchMode;
+import io.quarkus.runtime.configuration.MemorySize;
 
 @BuildSteps(onlyIf = { IsDevServicesSupportedByLaunchMode.class, DevServicesConfig.Enabled.class })
 public class DevServiceLorisgateProcessor {
@@ -47,79 +57,74 @@ public class DevServiceLorisgateProcessor {
     private static final ContainerLocator lorisgateContainerLocator = locateContainerWithLabels(LORISGATE_EXPOSED_PORT,
             DEV_SERVICE_LABEL);
 
-    private static volatile DevServicesResultBuildItem.RunningDevService devServices;
-    private static volatile LorisgateDevServicesConfig capturedDevServicesConfiguration;
-    private static volatile boolean first = true;
-
     @BuildStep
     public DevServicesResultBuildItem startContainers(LaunchModeBuildItem launchMode,
             DockerStatusBuildItem dockerStatusBuildItem,
             List<DevServicesSharedNetworkBuildItem> sharedNetwork,
             CuratedApplicationShutdownBuildItem closeBuildItem,
+            OutputTargetBuildItem outputTarget,
+            Capabilities capabilities,
             LorisgateBuildTimeConfig lorisgateBuildTimeConfig,
             DevServicesConfig devServicesConfig) {
 
         LorisgateDevServicesConfig currentDevServicesConfiguration = lorisgateBuildTimeConfig.devService();
 
-        if (devServices != null) {
-            boolean restartRequired = !currentDevServicesConfiguration.equals(capturedDevServicesConfiguration);
-            if (!restartRequired) {
-                return devServices.toBuildItem();
-            }
-            try {
-                devServices.close();
-            } catch (Throwable e) {
-                log.error("Failed to stop Lorisgate container", e);
-            }
-            devServices = null;
-            capturedDevServicesConfiguration = null;
-        }
+        boolean useSharedNetwork = DevServicesSharedNetworkBuildItem.isSharedNetworkRequired(devServicesConfig,
+                sharedNetwork);
 
-        capturedDevServicesConfiguration = currentDevServicesConfiguration;
+        // applications with the same configuration share the running dev service
+        String key = ConfigFingerprint.create(currentDevServicesConfiguration) + "-" + launchMode.getLaunchMode()
+                + (useSharedNetwork ? "-shared" : "");
 
-        try {
-            boolean useSharedNetwork = DevServicesSharedNetworkBuildItem.isSharedNetworkRequired(devServicesConfig,
-                    sharedNetwork);
+        // the deployment class loader is stable for the dev mode restarts of the application
+        Object application = Thread.currentThread().getContextClassLoader();
 
-            devServices = startContainer(dockerStatusBuildItem,
-                    launchMode.getLaunchMode(),
-                    currentDevServicesConfiguration,
-                    useSharedNetwork, devServicesConfig.timeout());
-        } catch (Throwable t) {
-            throw new RuntimeException(t);
-        }
+        // the phases are exported as spans by the application
+        var tracing = LorisgateTracing.create(capabilities.isPresent(Capability.OPENTELEMETRY_TRACER));
+
+        long start = System.nanoTime();
+        boolean[] started = { false };
+        var devServices = DevServiceRegistry.acquire(application, key, () -> {
+            started[0] = true;
+            return tracing.span("lorisgate dev service start", Map.of(),
+                    () -> startContainer(dockerStatusBuildItem, launchMode.getLaunchMode(),
+                            currentDevServicesConfiguration, useSharedNetwork, devServicesConfig.timeout(),
+                            outputTarget.getOutputDirectory(), tracing));
+        }, closeBuildItem);
 
         if (devServices == null) {
             return null;
         }
-
-        if (first) {
-            first = false;
-            Runnable closeTask = () -> {
-                if (devServices != null) {
-                    try {
-                        devServices.close();
-                    } catch (Throwable t) {
-                        log.error("Failed to stop MockServer", t);
-                    }
-                }
-                first = true;
-                devServices = null;
-                capturedDevServicesConfiguration = null;
-            };
-            closeBuildItem.addCloseTask(closeTask, true);
+        if (!started[0]) {
+            // the running dev service of the previous application
+            DevServiceStartupTimes.record(outputTarget.getOutputDirectory(), DevServiceStartupTimes.WARM,
+                    Map.of("start-ms", DevServiceStartupTimes.millis(start)));
         }
+
         if (devServices.isOwner()) {
             log.info("The lorisgate server is ready to accept connections on http://{}:{}",
                     devServices.getConfig().get(LorisgateServerConfig.CLIENT_HOST),
                     devServices.getConfig().get(LorisgateServerConfig.CLIENT_PORT));
         }
-        return devServices.toBuildItem();
+        if (!started[0] || !tracing.enabled()) {
+            return devServices.toBuildItem();
+        }
+
+        // only the application which started the dev service exports its phases
+        Map<String, String> config = new HashMap<>(devServices.getConfig());
+        config.put(LorisgateServerConfig.DEV_SERVICE_TRACE, tracing.encode());
+        return DevServicesResultBuildItem.discovered()
+                .name(devServices.getName())
+                .description(devServices.getDescription())
+                .containerId(devServices.getContainerId())
+                .config(config)
+                .build();
     }
 
     private DevServicesResultBuildItem.RunningDevService startContainer(DockerStatusBuildItem dockerStatusBuildItem,
             LaunchMode launchMode,
-            LorisgateDevServicesConfig devServicesConfig, boolean useSharedNetwork, Optional<Duration> timeout) {
+            LorisgateDevServicesConfig devServicesConfig, boolean useSharedNetwork, Optional<Duration> timeout,
+            Path outputDir, LorisgateTracing tracing) {
 
         if (!devServicesConfig.enabled().orElse(true)) {
             // explicitly disabled
@@ -127,6 +132,13 @@ public class DevServiceLorisgateProcessor {
             return null;
         }
 
+        // recorded OIDC traffic served without the container
+        var replay = devServicesConfig.replay();
+        if (replay.mode() == LorisgateDevServicesConfig.ReplayConfig.Mode.REPLAY) {
+            var result = replayStart(devServicesConfig);
+            return devServicesConfig.faultInjection().enabled() ? withFaultInjection(result, devServicesConfig) : result;
+        }
+
         if (!dockerStatusBuildItem.isContainerRuntimeAvailable()) {
             log.warn("Please configure or get a working Lorisgate instance");
             return null;
@@ -139,64 +151,43 @@ public class DevServiceLorisgateProcessor {
         }
         DockerImageName dockerImageName = tmp;
 
-        Supplier<DevServicesResultBuildItem.RunningDevService> defaultMockServerSupplier = () -> {
-            LorisgateContainer container = new LorisgateContainer(dockerImageName,
-                    devServicesConfig.port(),
-                    launchMode == DEVELOPMENT ? devServicesConfig.serviceName() : null, useSharedNetwork);
-            timeout.ifPresent(container::withStartupTimeout);
-
-            // enabled or disable container logs
-            if (devServicesConfig.log()) {
-                container.withLogConsumer(ContainerLogger.create(devServicesConfig.serviceName()));
-            }
+        String fingerprint = ConfigFingerprint.create(devServicesConfig);
 
-            if (devServicesConfig.containerEnv() != null && !devServicesConfig.containerEnv().isEmpty()) {
-                container.withEnv(devServicesConfig.containerEnv());
-            }
+        // realm payloads are encoded once per configuration fingerprint
+        var payloads = RealmPayloads.create(outputDir, fingerprint, ForkNamespace.create(devServicesConfig),
+                devServicesConfig);
 
-            // mount directory with mocks
-            if (devServicesConfig.volumeMounts() != null && !devServicesConfig.volumeMounts().isEmpty()) {
+        var discoveryCache = ContainerDiscoveryCache.create(DEV_SERVICE_LABEL, LORISGATE_EXPOSED_PORT,
+                devServicesConfig.discoveryCache().file().map(Path::of)
+                        .orElse(outputDir.resolve(RealmPayloads.DIR).resolve(ContainerDiscoveryCache.FILE)));
 
-                for (var mount : devServicesConfig.volumeMounts().entrySet()) {
-                    String configDir = mount.getKey();
-                    String path = mount.getValue();
-                    if (devServicesConfig.configClassPath()) {
-                        container.withClasspathResourceMapping(configDir, "/" + path, BindMode.READ_ONLY);
-                        log.info("Lorislab configuration class-path directory '{}' mount to '/{}' container directory.",
-                                configDir, path);
-                    } else {
-                        if (Files.isDirectory(Path.of(configDir))) {
-                            container.withFileSystemBind(configDir, "/" + path, BindMode.READ_ONLY);
-                            log.info("Lorislab configuration local directory '{}' mount to '/{}' container directory.",
-                                    configDir, path);
-                        } else {
-                            log.warn("Lorislab configuration local directory '{}' is not directory.", configDir);
-                        }
-                    }
-                }
-            }
+        // lazy start, the listener owns the fixed port and the container uses a random port
+        boolean lazy = devServicesConfig.lazy() && !useSharedNetwork;
+        if (devServicesConfig.lazy() && !lazy) {
+            log.warn("Lorisgate lazy start is not supported with the shared network");
+        }
+        // the lazy start runs after the build, its phases are not exported
+        var startTracing = lazy ? LorisgateTracing.NOOP : tracing;
 
-            // enable test-container reuse
-            if (devServicesConfig.reuse()) {
-                container.withReuse(true);
+        Supplier<DevServicesResultBuildItem.RunningDevService> defaultMockServerSupplier = () -> {
+            // the fixed port may be still used by the container of the previous dev service
+            if (devServicesConfig.port().isPresent()) {
+                DevServiceShutdown.await();
             }
 
-            // start test-container
-            container.start();
+            LorisgateContainer container = createContainer(dockerImageName, launchMode, devServicesConfig,
+                    useSharedNetwork, timeout, lazy, outputDir);
 
-            // create realms
-            try (var client = LorisgateClient.create(container.getDevEndpoint())) {
+            // start and provision the container
+            startInstance(container, dockerImageName, devServicesConfig, payloads, outputDir, startTracing);
 
-                if (devServicesConfig.realm().create()) {
-                    log.info("Creating realm '{}' if not exists", devServicesConfig.realm().name());
-                    client.createIfNotExistsRealm(
-                            createDefaultRealm(devServicesConfig.realm().name(), devServicesConfig.realm()));
-                }
-                if (devServicesConfig.realms() != null && !devServicesConfig.realms().isEmpty()) {
-                    for (var realmEntry : devServicesConfig.realms().entrySet()) {
-                        client.createIfNotExistsRealm(createRealm(realmEntry.getKey(), realmEntry.getValue()));
-                    }
-                }
+            if (replay.mode() == LorisgateDevServicesConfig.ReplayConfig.Mode.RECORD) {
+                startTracing.span("lorisgate record", Map.of(), () -> record(container, devServicesConfig));
+            }
+            if (launchMode == DEVELOPMENT && devServicesConfig.shared() && devServicesConfig.discoveryCache().enabled()) {
+                discoveryCache.put(devServicesConfig.serviceName(),
+                        new ContainerAddress(container.getContainerId(), container.getHost(), container.getServerPort()),
+                        fingerprint);
             }
 
             Map<String, String> properties = new HashMap<>();
@@ -206,14 +197,34 @@ public class DevServiceLorisgateProcessor {
             properties.put(LorisgateServerConfig.CLIENT_HOST, container.getHost());
             properties.put(LorisgateServerConfig.CLIENT_PORT, "" + container.getServerPort());
 
-            addProperties(properties, container.getDevEndpoint(), devServicesConfig);
+            if (container.logger != null && container.logger.getTailFile() != null) {
+                properties.put(LorisgateServerConfig.LOG_TAIL_FILE, container.logger.getTailFile().toString());
+            }
 
+            addProperties(properties, container.getDevEndpoint(), devServicesConfig);
+            addOidcMetadata(properties, devServicesConfig);
+
+            Closeable shutdown = DevServiceShutdown.create(new ContainerShutdownCloseable(container, FEATURE_NAME),
+                    container.getContainerName(), devServicesConfig);
+            Closeable closeable = () -> {
+                shutdown.close();
+                if (container.logger != null) {
+                    container.logger.close();
+                }
+            };
             return new DevServicesResultBuildItem.RunningDevService(FEATURE_NAME, container.getContainerId(),
-                    new ContainerShutdownCloseable(container, FEATURE_NAME), properties);
+                    closeable, properties);
         };
 
-        return lorisgateContainerLocator
-                .locateContainer(devServicesConfig.serviceName(), devServicesConfig.shared(), launchMode)
+        Supplier<Optional<ContainerAddress>> scan = () -> lorisgateContainerLocator
+                .locateContainer(devServicesConfig.serviceName(), devServicesConfig.shared(), launchMode);
+
+        var located = devServicesConfig.discoveryCache().enabled()
+                ? discoveryCache.locate(devServicesConfig.serviceName(), devServicesConfig.shared(), launchMode, fingerprint,
+                        scan)
+                : scan.get();
+
+        var result = located
                 .map(containerAddress -> {
 
                     var endpoint = String.format("http://%s:%d", containerAddress.getHost(), containerAddress.getPort());
@@ -225,21 +236,289 @@ public class DevServiceLorisgateProcessor {
                     properties.put(LorisgateServerConfig.CLIENT_PORT, "" + containerAddress.getPort());
                     properties.put(LorisgateServerConfig.ENDPOINT, endpoint);
                     addProperties(properties, endpoint, devServicesConfig);
+                    addOidcMetadata(properties, devServicesConfig);
 
                     return new DevServicesResultBuildItem.RunningDevService(FEATURE_NAME, containerAddress.getId(), null,
                             properties);
                 })
-                .orElseGet(defaultMockServerSupplier);
+                .orElseGet(() -> lazy ? lazyStart(defaultMockServerSupplier, devServicesConfig)
+                        : defaultMockServerSupplier.get());
+
+        if (devServicesConfig.faultInjection().enabled()) {
+            if (useSharedNetwork) {
+                log.warn("Lorisgate fault injection proxy is not supported with the shared network");
+            } else {
+                result = withFaultInjection(result, devServicesConfig);
+            }
+        }
+        return result;
+    }
+
+    private DevServicesResultBuildItem.RunningDevService lazyStart(
+            Supplier<DevServicesResultBuildItem.RunningDevService> supplier, LorisgateDevServicesConfig devServicesConfig) {
+
+        var proxy = LorisgateLazyProxy.start(devServicesConfig.port(), supplier);
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put(LorisgateServerConfig.HOST, "localhost");
+        properties.put(LorisgateServerConfig.PORT, "" + proxy.getPort());
+        properties.put(LorisgateServerConfig.ENDPOINT, proxy.getEndpoint());
+        properties.put(LorisgateServerConfig.CLIENT_HOST, "localhost");
+        properties.put(LorisgateServerConfig.CLIENT_PORT, "" + proxy.getPort());
+        addProperties(properties, proxy.getEndpoint(), devServicesConfig);
+
+        return new DevServicesResultBuildItem.RunningDevService(FEATURE_NAME, null, proxy, properties);
+    }
+
+    private DevServicesResultBuildItem.RunningDevService replayStart(LorisgateDevServicesConfig devServicesConfig) {
+
+        var server = LorisgateReplayServer.start(Path.of(devServicesConfig.replay().dir()), devServicesConfig.port(),
+                ForkNamespace.create(devServicesConfig));
+        log.warn("Lorisgate replay mode serves only the recorded OIDC responses, the admin API requests to {} "
+                + "are rejected with 501 Not Implemented", server.getEndpoint());
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put(LorisgateServerConfig.HOST, "localhost");
+        properties.put(LorisgateServerConfig.PORT, "" + server.getPort());
+        properties.put(LorisgateServerConfig.ENDPOINT, server.getEndpoint());
+        properties.put(LorisgateServerConfig.CLIENT_HOST, "localhost");
+        properties.put(LorisgateServerConfig.CLIENT_PORT, "" + server.getPort());
+        addProperties(properties, server.getEndpoint(), devServicesConfig);
+        addOidcMetadata(properties, devServicesConfig);
+
+        return new DevServicesResultBuildItem.RunningDevService(FEATURE_NAME, null, server, properties);
+    }
+
+    private void record(LorisgateContainer container, LorisgateDevServicesConfig devServicesConfig) {
+        Path dir = Path.of(devServicesConfig.replay().dir());
+        try (var recorder = LorisgateRecorder.create(container.getDevEndpoint())) {
+            recorder.record(dir, devServicesConfig);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write the Lorisgate recordings to " + dir, ex);
+        }
+    }
+
+    private DevServicesResultBuildItem.RunningDevService withFaultInjection(DevServicesResultBuildItem.RunningDevService service,
+            LorisgateDevServicesConfig devServicesConfig) {
+
+        Map<String, String> properties = new HashMap<>(service.getConfig());
+        var proxy = LorisgateFaultProxy.start(properties.get(LorisgateServerConfig.CLIENT_HOST),
+                Integer.parseInt(properties.get(LorisgateServerConfig.CLIENT_PORT)), devServicesConfig.faultInjection());
+
+        // the application uses the proxy, the client host and port still point to the server
+        properties.put(LorisgateServerConfig.HOST, "localhost");
+        properties.put(LorisgateServerConfig.PORT, "" + proxy.getPort());
+        properties.put(LorisgateServerConfig.ENDPOINT, proxy.getEndpoint());
+        addProperties(properties, proxy.getEndpoint(), devServicesConfig);
+
+        Closeable closeable = service.getCloseable();
+        return new DevServicesResultBuildItem.RunningDevService(FEATURE_NAME, service.getContainerId(), () -> {
+            try {
+                proxy.close();
+            } finally {
+                if (closeable != null) {
+                    closeable.close();
+                }
+            }
+        }, properties);
+    }
+
+    private LorisgateContainer createContainer(DockerImageName dockerImageName, LaunchMode launchMode,
+            LorisgateDevServicesConfig devServicesConfig, boolean useSharedNetwork, Optional<Duration> timeout,
+            boolean lazy, Path outputDir) {
+
+        // the lazy start listener owns the fixed port
+        String serviceName = devServicesConfig.serviceName();
+        LorisgateContainer container = new LorisgateContainer(dockerImageName,
+                lazy ? OptionalInt.empty() : devServicesConfig.port(),
+                launchMode == DEVELOPMENT ? serviceName : null, useSharedNetwork);
+        timeout.ifPresent(container::withStartupTimeout);
+
+        // enabled or disable container logs
+        if (devServicesConfig.log() || devServicesConfig.logBuffer().tailSize() > 0) {
+            // the log tail is published to the application as a file in the build output directory
+            var logger = ContainerLogger.create(serviceName, devServicesConfig.log(), devServicesConfig.logBuffer(),
+                    outputDir.resolve(RealmPayloads.DIR).resolve(serviceName + ".log"));
+            container.withLogConsumer(logger);
+            container.logger = logger;
+        }
+
+        if (devServicesConfig.containerEnv() != null && !devServicesConfig.containerEnv().isEmpty()) {
+            container.withEnv(devServicesConfig.containerEnv());
+        }
+
+        // mount directory with mocks
+        if (devServicesConfig.volumeMounts() != null && !devServicesConfig.volumeMounts().isEmpty()) {
+
+            for (var mount : devServicesConfig.volumeMounts().entrySet()) {
+                String configDir = mount.getKey();
+                String path = mount.getValue();
+                if (devServicesConfig.configClassPath()) {
+                    container.withClasspathResourceMapping(configDir, "/" + path, BindMode.READ_ONLY);
+                    log.info("Lorislab configuration class-path directory '{}' mount to '/{}' container directory.",
+                            configDir, path);
+                } else {
+                    if (Files.isDirectory(Path.of(configDir))) {
+                        container.withFileSystemBind(configDir, "/" + path, BindMode.READ_ONLY);
+                        log.info("Lorislab configuration local directory '{}' mount to '/{}' container directory.",
+                                configDir, path);
+                    } else {
+                        log.warn("Lorislab configuration local directory '{}' is not directory.", configDir);
+                    }
+                }
+            }
+        }
+
+        // in-memory writable directories for disposable test containers
+        var tmpfs = devServicesConfig.tmpfs();
+        if (tmpfs.enabled().orElse(launchMode == LaunchMode.TEST && !devServicesConfig.reuse())) {
+            container.withTmpfs(tmpfs.paths(), tmpfs.size());
+        }
+
+        // container resources and JVM options
+        configurePerformance(container, dockerImageName, devServicesConfig.performance(), timeout);
+
+        // enable test-container reuse
+        if (devServicesConfig.reuse()) {
+            container.withReuse(true);
+        }
+        return container;
+    }
+
+    private void startInstance(LorisgateContainer container, DockerImageName dockerImageName,
+            LorisgateDevServicesConfig devServicesConfig, RealmPayloads payloads, Path outputDir,
+            LorisgateTracing tracing) {
+
+        // start test-container, the start waits for the readiness of the server
+        long start = System.nanoTime();
+        tracing.span("lorisgate container start", Map.of(LorisgateTracing.IMAGE, dockerImageName.asCanonicalNameString()),
+                container::start);
+        long readiness = DevServiceStartupTimes.millis(start);
+        start = System.nanoTime();
+
+        // create realms from the pre-encoded payloads
+        try (var client = LorisgateClient.create(container.getDevEndpoint(), tracing)) {
+
+            for (var payload : payloads.getPayloads().entrySet()) {
+                log.info("Creating realm '{}' if not exists", payload.getKey());
+                tracing.span("lorisgate realm provisioning", Map.of(LorisgateTracing.REALM, payload.getKey()),
+                        () -> client.createIfNotExistsRealm(payload.getKey(), payload.getValue()));
+            }
+            if (devServicesConfig.realmFiles().isPresent()) {
+                var importer = RealmFileImporter.create(client, devServicesConfig.realmFilesBatchSize(),
+                        ForkNamespace.create(devServicesConfig));
+                for (String file : devServicesConfig.realmFiles().get()) {
+                    log.info("Importing realm file '{}'", file);
+                    tracing.span("lorisgate realm import", Map.of(LorisgateTracing.FILE, file), () -> {
+                        try {
+                            importer.importFile(Path.of(file));
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException("Failed to import the realm file " + file, ex);
+                        }
+                    });
+                }
+            }
+        }
+        DevServiceStartupTimes.record(outputDir, DevServiceStartupTimes.COLD,
+                Map.of("readiness-ms", readiness, "provisioning-ms", DevServiceStartupTimes.millis(start)));
+
+        // warm-up of the token, JWKS and discovery endpoints of the provisioned realms
+        if (devServicesConfig.warmup().enabled()) {
+            tracing.span("lorisgate warm-up", Map.of(), () -> {
+                try (var w = LorisgateWarmup.create(container.getDevEndpoint())) {
+                    w.run(devServicesConfig);
+                }
+            });
+        }
+    }
+
+    private void configurePerformance(LorisgateContainer container, DockerImageName dockerImageName,
+            LorisgateDevServicesConfig.PerformanceConfig performance, Optional<Duration> timeout) {
+
+        if (performance.cpuShares().isPresent() || performance.cpus().isPresent()
+                || performance.memoryLimit().isPresent()) {
+            container.withCreateContainerCmdModifier(cmd -> {
+                var hostConfig = cmd.getHostConfig();
+                if (hostConfig == null) {
+                    hostConfig = new HostConfig();
+                    cmd.withHostConfig(hostConfig);
+                }
+                if (performance.cpuShares().isPresent()) {
+                    hostConfig.withCpuShares(performance.cpuShares().getAsInt());
+                }
+                if (performance.cpus().isPresent()) {
+                    hostConfig.withNanoCPUs((long) (performance.cpus().get() * 1_000_000_000L));
+                }
+                if (performance.memoryLimit().isPresent()) {
+                    hostConfig.withMemory(performance.memoryLimit().get().asLongValue());
+                }
+            });
+        }
+
+        List<String> javaOptions = new ArrayList<>();
+        String env = performance.javaOptionsEnv();
+        String value = container.getEnvMap().get(env);
+        if (value != null && !value.isBlank()) {
+            javaOptions.add(value);
+        }
+        performance.javaOptions().ifPresent(javaOptions::add);
+
+        if (performance.cds().enabled()) {
+            Path dir = performance.cds().archiveDir().map(Path::of)
+                    .orElse(Path.of(System.getProperty("java.io.tmpdir"), "lorisgate-cds"));
+
+            Map<String, String> trainingEnv = new HashMap<>(container.getEnvMap());
+            if (!javaOptions.isEmpty()) {
+                trainingEnv.put(env, String.join(" ", javaOptions));
+            }
+            ContainerCdsArchive.create(dir, dockerImageName)
+                    .generateIfNotExists(dockerImageName, trainingEnv, env, timeout)
+                    .ifPresent(archive -> {
+                        container.withFileSystemBind(archive.getDir().toString(), ContainerCdsArchive.CONTAINER_DIR,
+                                BindMode.READ_ONLY);
+                        javaOptions.add(archive.getJavaOption());
+                        log.info("Lorisgate AppCDS archive directory '{}' mount to '{}' container directory.",
+                                archive.getDir(), ContainerCdsArchive.CONTAINER_DIR);
+                    });
+        }
+
+        if (!javaOptions.isEmpty()) {
+            container.withEnv(env, String.join(" ", javaOptions));
+        }
     }
 
     private void addProperties(Map<String, String> properties, String endpoint, LorisgateDevServicesConfig devServicesConfig) {
-        String authUrl = endpoint + "/realms/" + devServicesConfig.realm().name();
+        // realms of the test fork
+        var namespace = ForkNamespace.create(devServicesConfig);
+        String authUrl = endpoint + "/realms/" + namespace.realm(devServicesConfig.realm().name());
         if (devServicesConfig.realm().create()) {
             properties.put(LorisgateServerConfig.OIDC_AUTH_URL, authUrl);
             properties.put(LorisgateServerConfig.OIDC_CLIENT_ID, DEFAULT_CLIENT_ID);
             properties.put(LorisgateServerConfig.OIDC_CLIENT_SECRET, DEFAULT_CLIENT_SECRET);
         }
 
+        // all provisioned realms for the multi-tenant resolver
+        List<String> realms = new ArrayList<>();
+        if (devServicesConfig.realm().create()) {
+            realms.add(namespace.realm(devServicesConfig.realm().name()));
+        }
+        if (devServicesConfig.realms() != null) {
+            devServicesConfig.realms().keySet().forEach(realm -> realms.add(namespace.realm(realm)));
+        }
+        if (!realms.isEmpty()) {
+            properties.put(LorisgateServerConfig.TENANT_REALMS, String.join(",", realms));
+        }
+
+        // client credentials of the tenant realms, the default realm without the default clients uses its own client
+        if (devServicesConfig.realm().create() && !devServicesConfig.realm().createClients()) {
+            addTenantClient(properties, namespace.realm(devServicesConfig.realm().name()),
+                    devServicesConfig.realm().clients());
+        }
+        if (devServicesConfig.realms() != null) {
+            devServicesConfig.realms()
+                    .forEach((realm, config) -> addTenantClient(properties, namespace.realm(realm), config.clients()));
+        }
+
         if (devServicesConfig.oidc().enableQuarkusOidc()) {
             properties.put("quarkus.oidc.auth-server-url", authUrl);
             properties.put("quarkus.oidc.client-id", DEFAULT_CLIENT_ID);
@@ -247,11 +526,43 @@ public class DevServiceLorisgateProcessor {
         }
     }
 
+    private static void addTenantClient(Map<String, String> properties, String realm,
+            Map<String, LorisgateDevServicesConfig.RealmClientConfig> clients) {
+        if (clients == null || clients.isEmpty()) {
+            return;
+        }
+        // the first confidential client by the client ID, otherwise the first public client
+        var client = new TreeMap<>(clients).entrySet().stream()
+                .filter(e -> e.getValue().confidential())
+                .findFirst()
+                .orElseGet(() -> new TreeMap<>(clients).firstEntry());
+
+        String prefix = LorisgateServerConfig.TENANT_CLIENTS + ".\"" + realm + "\".";
+        properties.put(prefix + "client-id", client.getKey());
+        if (client.getValue().confidential()) {
+            properties.put(prefix + "client-secret", client.getValue().clientSecret());
+        }
+    }
+
+    private void addOidcMetadata(Map<String, String> properties, LorisgateDevServicesConfig devServicesConfig) {
+        if (!devServicesConfig.oidc().enableQuarkusOidc() || !devServicesConfig.oidc().metadata().enabled()
+                || !devServicesConfig.realm().create()) {
+            return;
+        }
+        // the discovery is fetched from the build by the client host and port, not through the proxies
+        String endpoint = String.format("http://%s:%s", properties.get(LorisgateServerConfig.CLIENT_HOST),
+                properties.get(LorisgateServerConfig.CLIENT_PORT));
+        String realm = ForkNamespace.create(devServicesConfig).realm(devServicesConfig.realm().name());
+        properties.putAll(LorisgateOidcMetadata.resolve(endpoint, realm, devServicesConfig.oidc().metadata()));
+    }
+
     private static class LorisgateContainer extends GenericContainer<LorisgateContainer> implements Startable {
 
         private final boolean useSharedNetwork;
         private final OptionalInt fixedExposedPort;
 
+        private ContainerLogger logger;
+
         private String hostName = null;
 
         public LorisgateContainer(DockerImageName image, OptionalInt fixedExposedPort, String serviceName,
@@ -275,6 +586,15 @@ public class DevServiceLorisgateProcessor {
             this.waitingFor(Wait.forHttp("/q/health"));
         }
 
+        public LorisgateContainer withTmpfs(List<String> paths, MemorySize size) {
+            Map<String, String> mounts = new HashMap<>();
+            for (String path : paths) {
+                mounts.put(path, "rw,size=" + size.asLongValue());
+            }
+            log.debug("Lorisgate container tmpfs mounts {}", mounts);
+            return withTmpFs(mounts);
+        }
+
         public String getExternalAddress(final int port) {
             return String.format("http://%s:%d", this.getHost(), this.getMappedPort(port));
         }
@@ -0,0 +1,190 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.quarkus.deployment.builditem.CuratedApplicationShutdownBuildItem;
+import io.quarkus.deployment.builditem.DevServicesResultBuildItem;
+
+/**
+ * Registry of the running dev services keyed by the configuration fingerprint. Applications with the same
+ * configuration share one running dev service, applications with different configuration get separate dev services.
+ * The dev service is stopped when the last application using it is closed or switches to a different configuration.
+ * The stopping dev service stays in the registry until it is closed, an application acquiring the same key waits
+ * for it and does not start a second container next to it.
+ */
+final class DevServiceRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(DevServiceRegistry.class);
+
+    private static final Object LOCK = new Object();
+
+    /**
+     * The dev services by key.
+     */
+    private static final Map<String, Entry> SERVICES = new HashMap<>();
+
+    /**
+     * The dev service key of the application.
+     */
+    private static final Map<Object, String> APPLICATIONS = new WeakHashMap<>();
+
+    /**
+     * The applications with the registered close task.
+     */
+    private static final Set<Object> REGISTERED = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private DevServiceRegistry() {
+    }
+
+    /**
+     * Acquires the dev service of the application. The dev service is started when no other application
+     * with the same key is running it.
+     *
+     * @param application the application.
+     * @param key the dev service key.
+     * @param starter the dev service starter, the starter may return {@code null}.
+     * @param shutdown the application shutdown build item.
+     * @return the running dev service or {@code null}.
+     */
+    static DevServicesResultBuildItem.RunningDevService acquire(Object application, String key,
+            Supplier<DevServicesResultBuildItem.RunningDevService> starter,
+            CuratedApplicationShutdownBuildItem shutdown) {
+
+        Entry entry;
+        Entry released = null;
+        synchronized (LOCK) {
+            String current = APPLICATIONS.get(application);
+            if (key.equals(current)) {
+                entry = SERVICES.get(key);
+            } else {
+                if (current != null) {
+                    released = releaseLocked(application);
+                }
+                awaitClosedLocked(key);
+                entry = SERVICES.computeIfAbsent(key, k -> new Entry());
+                entry.references++;
+                APPLICATIONS.put(application, key);
+            }
+            if (REGISTERED.add(application)) {
+                shutdown.addCloseTask(() -> shutdown(application), true);
+            }
+        }
+
+        // the configuration of the application has changed
+        close(released);
+
+        // start outside the registry lock, only the applications with the same key wait
+        synchronized (entry) {
+            if (entry.service == null && !entry.started) {
+                try {
+                    entry.service = starter.get();
+                    entry.started = true;
+                } catch (RuntimeException ex) {
+                    release(application);
+                    throw ex;
+                }
+            }
+            return entry.service;
+        }
+    }
+
+    /**
+     * Closes the application.
+     *
+     * @param application the application.
+     */
+    private static void shutdown(Object application) {
+        synchronized (LOCK) {
+            REGISTERED.remove(application);
+        }
+        release(application);
+    }
+
+    /**
+     * Releases the dev service of the application. The dev service is stopped when no other application uses it.
+     *
+     * @param application the application.
+     */
+    private static void release(Object application) {
+        Entry entry;
+        synchronized (LOCK) {
+            entry = releaseLocked(application);
+        }
+        close(entry);
+    }
+
+    private static Entry releaseLocked(Object application) {
+        String key = APPLICATIONS.remove(application);
+        if (key == null) {
+            return null;
+        }
+        var entry = SERVICES.get(key);
+        if (entry == null || --entry.references > 0) {
+            return null;
+        }
+        // the entry is removed after the dev service is closed
+        entry.key = key;
+        entry.closing = true;
+        return entry;
+    }
+
+    private static void awaitClosedLocked(String key) {
+        var entry = SERVICES.get(key);
+        while (entry != null && entry.closing) {
+            try {
+                LOCK.wait();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the Lorisgate dev service to stop", ex);
+            }
+            entry = SERVICES.get(key);
+        }
+    }
+
+    private static void close(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        try {
+            synchronized (entry) {
+                if (entry.service != null) {
+                    try {
+                        entry.service.close();
+                    } catch (Throwable t) {
+                        log.error("Failed to stop Lorisgate dev service", t);
+                    }
+                    entry.service = null;
+                }
+            }
+        } finally {
+            synchronized (LOCK) {
+                SERVICES.remove(entry.key, entry);
+                LOCK.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * The registry entry.
+     */
+    private static class Entry {
+
+        private DevServicesResultBuildItem.RunningDevService service;
+
+        private boolean started;
+
+        private int references;
+
+        private String key;
+
+        private boolean closing;
+    }
+}
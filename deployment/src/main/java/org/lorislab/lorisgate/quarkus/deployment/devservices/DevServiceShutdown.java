@@ -0,0 +1,147 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shutdown of the dev service containers. The asynchronous shutdown stops the containers in daemon threads, the JVM
+ * exit waits for every running shutdown at most the grace period of its configuration. The containers which are not
+ * stopped in time are removed by the Testcontainers resource reaper.
+ */
+final class DevServiceShutdown {
+
+    private static final Logger log = LoggerFactory.getLogger(DevServiceShutdown.class);
+
+    /**
+     * The running asynchronous shutdowns.
+     */
+    private static final Map<CompletableFuture<Void>, Pending> PENDING = new ConcurrentHashMap<>();
+
+    private static final Executor EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "lorisgate-shutdown");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static volatile boolean hook;
+
+    private DevServiceShutdown() {
+    }
+
+    /**
+     * Creates the container closeable of the shutdown mode.
+     *
+     * @param closeable the container closeable which stops and removes the container.
+     * @param name the container name for the log messages.
+     * @param devServicesConfig the dev services configuration.
+     * @return the closeable of the shutdown mode.
+     */
+    static Closeable create(Closeable closeable, String name, LorisgateDevServicesConfig devServicesConfig) {
+        var config = devServicesConfig.shutdown();
+        var mode = config.mode();
+        if (mode == LorisgateDevServicesConfig.ShutdownConfig.Mode.AUTO) {
+            mode = devServicesConfig.reuse() ? LorisgateDevServicesConfig.ShutdownConfig.Mode.SKIP
+                    : LorisgateDevServicesConfig.ShutdownConfig.Mode.ASYNC;
+        }
+        return switch (mode) {
+            case SKIP -> () -> log.debug("Lorisgate container '{}' is not stopped, shutdown mode skip", name);
+            case ASYNC -> () -> submit(closeable, name, config.gracePeriod());
+            default -> closeable;
+        };
+    }
+
+    /**
+     * Waits for the completion of the running asynchronous shutdowns. The start of a container with a fixed port
+     * waits for the release of the port.
+     */
+    static void await() {
+        if (PENDING.isEmpty()) {
+            return;
+        }
+        log.debug("Waiting for the shutdown of the Lorisgate containers {}",
+                PENDING.values().stream().map(Pending::name).toList());
+        var all = CompletableFuture.allOf(PENDING.keySet().toArray(CompletableFuture[]::new));
+        try {
+            all.get();
+        } catch (ExecutionException ex) {
+            log.debug("Lorisgate container shutdown failed", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for every running asynchronous shutdown at most the grace period of its configuration.
+     */
+    static void awaitExit() {
+        long start = System.nanoTime();
+        for (var entry : PENDING.entrySet()) {
+            var pending = entry.getValue();
+            long remaining = start + pending.gracePeriod.toNanos() - System.nanoTime();
+            try {
+                entry.getKey().get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                log.warn("Lorisgate container '{}' is not stopped after {}", pending.name, pending.gracePeriod);
+            } catch (ExecutionException ex) {
+                log.debug("Lorisgate container '{}' shutdown failed", pending.name, ex);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void submit(Closeable closeable, String name, Duration grace) {
+        registerHook();
+
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+            try {
+                closeable.close();
+                log.debug("Lorisgate container '{}' stopped", name);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, EXECUTOR);
+        PENDING.put(future, new Pending(name, grace));
+        future.whenComplete((v, ex) -> {
+            PENDING.remove(future);
+            if (ex != null) {
+                log.error("Failed to stop Lorisgate container '{}'", name, ex);
+            }
+        });
+    }
+
+    private static void registerHook() {
+        if (hook) {
+            return;
+        }
+        synchronized (DevServiceShutdown.class) {
+            if (!hook) {
+                Runtime.getRuntime().addShutdownHook(new Thread(DevServiceShutdown::awaitExit, "lorisgate-shutdown-hook"));
+                hook = true;
+            }
+        }
+    }
+
+    /**
+     * The running shutdown.
+     *
+     * @param name the container name.
+     * @param gracePeriod the grace period of the JVM exit.
+     */
+    private record Pending(String name, Duration gracePeriod) {
+    }
+}
@@ -0,0 +1,86 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Startup times of the dev service. With {@value #RECORD}{@code =true} every start appends a JSON line with the start
+ * mode and the phase durations in milliseconds to the {@value #FILE} file in the build output directory. The
+ * {@code cold} start creates and provisions a new container, the {@code warm} start reuses the running dev service of
+ * the previous application. The property is set by the {@code startup-gate} profile of the integration tests.
+ */
+final class DevServiceStartupTimes {
+
+    private static final Logger log = LoggerFactory.getLogger(DevServiceStartupTimes.class);
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    /**
+     * The startup times file in the {@link RealmPayloads#DIR} directory.
+     */
+    static final String FILE = "startup-times.jsonl";
+
+    /**
+     * Enables the recording of the startup times.
+     */
+    static final String RECORD = "lorisgate.startup-gate.record";
+
+    static final String COLD = "cold";
+
+    static final String WARM = "warm";
+
+    private DevServiceStartupTimes() {
+    }
+
+    /**
+     * Append the startup times of the dev service start if the recording is enabled.
+     *
+     * @param outputDir the build output directory.
+     * @param mode the start mode.
+     * @param phases the phase durations in milliseconds.
+     */
+    static void record(Path outputDir, String mode, Map<String, Long> phases) {
+        if (!ConfigProvider.getConfig().getOptionalValue(RECORD, Boolean.class).orElse(false)) {
+            return;
+        }
+        Path file = outputDir.resolve(RealmPayloads.DIR).resolve(FILE);
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    JsonGenerator generator = JSON.createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeStringField("timestamp", Instant.now().toString());
+                generator.writeStringField("mode", mode);
+                for (var phase : phases.entrySet()) {
+                    generator.writeNumberField(phase.getKey(), phase.getValue());
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        } catch (IOException ex) {
+            log.debug("Failed to write the Lorisgate startup times to {}", file, ex);
+        }
+    }
+
+    /**
+     * Gets the milliseconds since the start.
+     *
+     * @param start the start in nanoseconds.
+     * @return the milliseconds since the start.
+     */
+    static long millis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
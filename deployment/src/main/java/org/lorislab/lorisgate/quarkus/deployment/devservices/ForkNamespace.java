@@ -0,0 +1,73 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import java.util.List;
+
+/**
+ * Realm namespace of the test fork. Parallel test forks provision namespaced copies of the realms, for example
+ * {@code quarkus-f3}, and can share one lorisgate container without collisions.
+ * <p>
+ * Gradle sets the {@code org.gradle.test.worker} system property for each test worker. Surefire exposes the fork
+ * number only as the {@code surefire.forkNumber} placeholder, which has to be passed as system property in the
+ * {@code systemPropertyVariables} of the plugin. The namespace is disabled by default, a single Gradle test worker
+ * would otherwise rename the realms.
+ */
+public final class ForkNamespace {
+
+    /**
+     * The system properties with the fork or worker id.
+     */
+    static final List<String> FORK_PROPERTIES = List.of("surefire.forkNumber", "org.gradle.test.worker");
+
+    static final ForkNamespace NONE = new ForkNamespace("");
+
+    private final String suffix;
+
+    private ForkNamespace(String suffix) {
+        this.suffix = suffix;
+    }
+
+    /**
+     * Creates the fork namespace of the dev service configuration.
+     *
+     * @param config the dev service configuration.
+     * @return the fork namespace.
+     */
+    public static ForkNamespace create(LorisgateDevServicesConfig config) {
+        var fork = config.forkNamespace();
+        if (!fork.enabled()) {
+            return NONE;
+        }
+        String id = fork.forkId().orElse(null);
+        if (id == null) {
+            for (String property : FORK_PROPERTIES) {
+                id = System.getProperty(property);
+                if (id != null && !id.isBlank()) {
+                    break;
+                }
+            }
+        }
+        if (id == null || id.isBlank()) {
+            return NONE;
+        }
+        return new ForkNamespace("-f" + id.trim());
+    }
+
+    /**
+     * Gets the namespaced realm name.
+     *
+     * @param realm the configured realm name.
+     * @return the realm name of the fork.
+     */
+    public String realm(String realm) {
+        return realm + suffix;
+    }
+
+    /**
+     * Gets the realm name suffix of the fork.
+     *
+     * @return the suffix or empty string.
+     */
+    public String getSuffix() {
+        return suffix;
+    }
+}
@@ -1,11 +1,10 @@
 package org.lorislab.lorisgate.quarkus.deployment.devservices;
 
-import static io.netty.handler.codec.http.HttpHeaderValues.APPLICATION_JSON;
-
-import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
+import org.lorislab.lorisgate.quarkus.client.LorisgateAdminClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,16 +12,8 @@ import gen.org.lorislab.lorisgate.client.admin.v1.model.ClientV1DTO;
 import gen.org.lorislab.lorisgate.client.admin.v1.model.RealmV1DTO;
 import gen.org.lorislab.lorisgate.client.admin.v1.model.RoleV1DTO;
 import gen.org.lorislab.lorisgate.client.admin.v1.model.UserV1DTO;
-import io.netty.handler.codec.http.HttpResponseStatus;
-import io.vertx.core.Vertx;
-import io.vertx.core.json.Json;
-import io.vertx.ext.web.client.WebClientOptions;
-import io.vertx.mutiny.core.buffer.Buffer;
-import io.vertx.mutiny.core.http.HttpHeaders;
-import io.vertx.mutiny.ext.web.client.HttpResponse;
-import io.vertx.mutiny.ext.web.client.WebClient;
 
-public class LorisgateClient implements AutoCloseable {
+public class LorisgateClient extends LorisgateAdminClient {
 
     static final String DEFAULT_CLIENT_ID = "quarkus-app";
 
@@ -34,27 +25,21 @@ public class LorisgateClient implements AutoCloseable {
 
     private static final int TIMEOUT = 300;
 
-    private final String url;
-
-    private final int timeout;
-
-    private final Vertx vertx;
-
-    private final WebClient webClient;
-
     public static LorisgateClient create(String url) {
         return create(url, TIMEOUT);
     }
 
     public static LorisgateClient create(String url, int timeout) {
-        return new LorisgateClient(url, timeout);
+        return new LorisgateClient(url, timeout, Map.of());
+    }
+
+    public static LorisgateClient create(String url, LorisgateTracing tracing) {
+        // the admin requests are part of the dev service trace
+        return new LorisgateClient(url, TIMEOUT, tracing.headers());
     }
 
-    private LorisgateClient(String url, int timeout) {
-        this.url = url;
-        this.timeout = timeout;
-        this.vertx = Vertx.vertx();
-        this.webClient = createWebClient(vertx);
+    private LorisgateClient(String url, int timeout, Map<String, String> headers) {
+        super(url, timeout, headers);
     }
 
     public void createIfNotExistsRealm(RealmV1DTO realm) {
@@ -67,65 +52,21 @@ public class LorisgateClient implements AutoCloseable {
         }
     }
 
-    public RealmV1DTO getRealm(String realm) {
-        HttpResponse<Buffer> createRealmResponse = webClient.getAbs(adminRealmsUrl(realm))
-                .putHeader(HttpHeaders.CONTENT_TYPE.toString(), APPLICATION_JSON.toString())
-                .send()
-                .await().atMost(Duration.ofSeconds(timeout));
-
-        if (createRealmResponse.statusCode() == HttpResponseStatus.NOT_FOUND.code()) {
-            return null;
-        }
-        if (createRealmResponse.statusCode() != HttpResponseStatus.OK.code()) {
-            throw new RuntimeException("Failed to get '" + realm + "' realm in lorisgate dev service, status: "
-                    + createRealmResponse.statusCode() + ", body: " + createRealmResponse.bodyAsString());
-        }
-        System.out.println("Response: " + createRealmResponse.bodyAsString());
-        return createRealmResponse.bodyAsJson(RealmV1DTO.class);
-    }
-
-    public void createRealm(RealmV1DTO realm) {
-        HttpResponse<Buffer> createRealmResponse = webClient.postAbs(adminRealmsUrl())
-                .putHeader(HttpHeaders.CONTENT_TYPE.toString(), APPLICATION_JSON.toString())
-                .sendBuffer(Buffer.buffer().appendString(Json.encode(realm)))
-                .await().atMost(Duration.ofSeconds(timeout));
-
-        if (createRealmResponse.statusCode() != HttpResponseStatus.CREATED.code()) {
-            throw new RuntimeException("Failed to create quarkus realm in lorisgate dev service, status: "
-                    + createRealmResponse.statusCode() + ", body: " + createRealmResponse.bodyAsString());
-        }
-    }
-
-    private String adminRealmsUrl(String realm) {
-        return url + "/admin/realms/" + realm;
-    }
-
-    private String adminRealmsUrl() {
-        return url + "/admin/realms";
-    }
-
-    private WebClient createWebClient(Vertx vertx) {
-        WebClientOptions options = new WebClientOptions();
-        options.setTrustAll(true);
-        options.setVerifyHost(false);
-        return WebClient.create(new io.vertx.mutiny.core.Vertx(vertx), options);
-    }
-
-    @Override
-    public void close() {
-        if (webClient != null) {
-            webClient.close();
-        }
-        if (vertx != null) {
-            vertx.close();
+    public void createIfNotExistsRealm(String realm, byte[] payload) {
+        if (existsRealm(realm)) {
+            log.warn("Realm '{}' already exists.", realm);
+            return;
         }
+        createRealm(realm, payload);
+        log.info("Realm '{}' created in the lorisgate server.", realm);
     }
 
     public static RealmV1DTO createDefaultRealm(String realm, LorisgateDevServicesConfig.DefaultRealmConfig config) {
         var result = new RealmV1DTO().displayName(realm).name(realm).enabled(config.enabled());
 
         if (config.createUsers()) {
-            result.users(
+            // mutable maps, the configured users, clients and roles are added to the default ones
+            result.users(new HashMap<>(
                     Map.of(
                             "alice",
                             new UserV1DTO().enabled(true).name("alice").id("alice").password("alice").username("alice")
@@ -136,25 +77,25 @@ public class LorisgateClient implements AutoCloseable {
                             new UserV1DTO().enabled(true).name("bob").id("bob").password("bob").username("bob")
                                     .emailVerified(true)
                                     .email("bob@localhost")
-                                    .roles(Set.of("user"))));
+                                    .roles(Set.of("user")))));
         }
 
         if (config.createClients()) {
 
-            result.clients(
+            result.clients(new HashMap<>(
                     Map.of(
                             DEFAULT_CLIENT_ID,
                             new ClientV1DTO().clientId(DEFAULT_CLIENT_ID).clientSecret(DEFAULT_CLIENT_SECRET).confidential(true)
                                     .scopes(Set.of("openid", "profile", "email")),
                             "quarkus-app-public",
                             new ClientV1DTO().clientId(DEFAULT_CLIENT_PUBLIC_ID).confidential(false)
-                                    .scopes(Set.of("openid", "profile", "email")).redirectUris(Set.of("*"))));
+                                    .scopes(Set.of("openid", "profile", "email")).redirectUris(Set.of("*")))));
         }
 
         if (config.createRoles()) {
-            result.roles(
+            result.roles(new HashMap<>(
                     Map.of("admin", new RoleV1DTO().name("admin").description("Admin role").enabled(true),
-                            "user", new RoleV1DTO().name("user").description("User role").enabled(true)));
+                            "user", new RoleV1DTO().name("user").description("User role").enabled(true))));
         }
 
         addRolesUsersClients(result, config.users(), config.roles(), config.clients());
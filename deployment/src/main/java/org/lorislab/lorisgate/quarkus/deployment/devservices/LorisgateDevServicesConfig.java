@@ -1,11 +1,14 @@
 package org.lorislab.lorisgate.quarkus.deployment.devservices;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
 
 import io.quarkus.runtime.annotations.ConfigDocMapKey;
+import io.quarkus.runtime.configuration.MemorySize;
 import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
 
@@ -56,6 +59,12 @@ public interface LorisgateDevServicesConfig {
     @WithDefault("p6")
     String serviceName();
 
+    /**
+     * Shared container discovery cache configuration.
+     */
+    @WithName("discovery-cache")
+    DiscoveryCacheConfig discoveryCache();
+
     /**
      * The container image name to use, for container based DevServices providers.
      */
@@ -76,6 +85,14 @@ public interface LorisgateDevServicesConfig {
     @WithDefault("false")
     boolean reuse();
 
+    /**
+     * Lazy start of the dev service. The port is reserved and the configuration is published up front, the container
+     * is started and provisioned on the first connection to the endpoint. Not supported with the shared network.
+     */
+    @WithName("lazy")
+    @WithDefault("false")
+    boolean lazy();
+
     /**
      * Optional fixed port the dev service will listen to.
      * <p>
@@ -91,6 +108,12 @@ public interface LorisgateDevServicesConfig {
     @WithDefault("false")
     boolean log();
 
+    /**
+     * Container log buffer configuration.
+     */
+    @WithName("log-buffer")
+    LogBufferConfig logBuffer();
+
     /**
      * Environment variables that are passed to the container.
      */
@@ -112,6 +135,62 @@ public interface LorisgateDevServicesConfig {
     @WithDefault("false")
     boolean configClassPath();
 
+    /**
+     * Warm-up configuration.
+     */
+    @WithName("warm-up")
+    WarmupConfig warmup();
+
+    /**
+     * Realm namespace configuration of the parallel test forks.
+     */
+    @WithName("fork-namespace")
+    ForkNamespaceConfig forkNamespace();
+
+    /**
+     * Container tmpfs configuration.
+     */
+    @WithName("tmpfs")
+    TmpfsConfig tmpfs();
+
+    /**
+     * Container performance configuration.
+     */
+    @WithName("performance")
+    PerformanceConfig performance();
+
+    /**
+     * Latency and fault injection configuration.
+     */
+    @WithName("fault-injection")
+    FaultInjectionConfig faultInjection();
+
+    /**
+     * Record and replay configuration of the OIDC traffic.
+     */
+    @WithName("replay")
+    ReplayConfig replay();
+
+    /**
+     * Container shutdown configuration.
+     */
+    @WithName("shutdown")
+    ShutdownConfig shutdown();
+
+    /**
+     * Realm export files (JSON or YAML) to import after the start of the container. The files are streamed, the realm
+     * {@code name} must precede the {@code users} and {@code clients} of the realm. Existing realms are skipped.
+     */
+    @WithName("realm-files")
+    Optional<List<String>> realmFiles();
+
+    /**
+     * Number of users or clients of the realm export files sent in parallel to the server.
+     */
+    @WithName("realm-files-batch-size")
+    @WithDefault("64")
+    int realmFilesBatchSize();
+
     /**
      * Realms configuration.
      */
@@ -207,6 +286,454 @@ public interface LorisgateDevServicesConfig {
         @WithName("enable-quarkus-oidc")
         @WithDefault("true")
         boolean enableQuarkusOidc();
+
+        /**
+         * OIDC metadata configuration.
+         */
+        @WithName("metadata")
+        MetadataConfig metadata();
+    }
+
+    /**
+     * OIDC metadata configuration. The discovery document of the default realm is fetched once per container and
+     * the endpoints are set in the quarkus OIDC properties, the application starts without the discovery request.
+     */
+    interface MetadataConfig {
+
+        /**
+         * Set the resolved OIDC endpoints and disable the OIDC discovery of the application. Not used with the lazy
+         * start. Disabled by default because the endpoints of the default realm replace the discovery also for the
+         * applications with their own tenant resolver.
+         */
+        @WithName("enabled")
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * Set the signing key of the realm as the OIDC public key, the application verifies the tokens without the
+         * JWKS request. Used only if the realm has a single RSA signing key.
+         */
+        @WithName("inline-jwks")
+        @WithDefault("false")
+        boolean inlineJwks();
+    }
+
+    /**
+     * Shared container discovery cache configuration.
+     */
+    interface DiscoveryCacheConfig {
+
+        /**
+         * Enabled or disable the discovery cache. The cached container is verified with a single container
+         * inspect call and the label scan of all containers is used only when the verification fails.
+         */
+        @WithName("enabled")
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * Local state file of the discovery cache, used across the dev mode sessions. Defaults to
+         * {@code lorisgate-devservices/discovery-cache.properties} in the build output directory.
+         */
+        @WithName("file")
+        Optional<String> file();
+    }
+
+    /**
+     * Container log buffer configuration.
+     */
+    interface LogBufferConfig {
+
+        /**
+         * Maximum number of container log lines waiting to be written to the logger.
+         */
+        @WithName("size")
+        @WithDefault("1024")
+        int size();
+
+        /**
+         * Policy applied when the log buffer is filling up.
+         */
+        @WithName("overflow-policy")
+        @WithDefault("drop")
+        OverflowPolicy overflowPolicy();
+
+        /**
+         * Only every n-th line is written when the {@code sample} policy is active.
+         */
+        @WithName("sample-rate")
+        @WithDefault("10")
+        int sampleRate();
+
+        /**
+         * Number of the last container log lines retained for the tests. The tail is written to a file in the build
+         * output directory and read with the {@code LorisgateContainerLogs} bean. The value {@code 0} disables the tail.
+         */
+        @WithName("tail-size")
+        @WithDefault("0")
+        int tailSize();
+
+        /**
+         * Log buffer overflow policy.
+         */
+        enum OverflowPolicy {
+
+            /**
+             * New lines are dropped when the buffer is full.
+             */
+            DROP,
+
+            /**
+             * Only every n-th line is accepted when the buffer is half full, new lines are dropped when the buffer is full.
+             */
+            SAMPLE;
+        }
+    }
+
+    /**
+     * Latency and fault injection configuration.
+     */
+    interface FaultInjectionConfig {
+
+        /**
+         * Enabled or disable the fault injection proxy. When enabled, the injected endpoint and OIDC URLs point to an
+         * in-process proxy which forwards the requests to the lorisgate server.
+         */
+        @WithName("enabled")
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * Optional fixed port of the proxy. If not defined, the port will be chosen randomly.
+         */
+        @WithName("port")
+        OptionalInt port();
+
+        /**
+         * Faults per endpoint. Supported endpoints: {@code token}, {@code jwks}, {@code discovery}, {@code admin}
+         * and {@code other}.
+         */
+        @WithName("endpoints")
+        @ConfigDocMapKey("endpoint")
+        Map<String, FaultConfig> endpoints();
+    }
+
+    /**
+     * Endpoint fault configuration.
+     */
+    interface FaultConfig {
+
+        /**
+         * Latency added to the requests. This is the mean value for the {@code exponential} distribution.
+         */
+        @WithName("latency")
+        Optional<Duration> latency();
+
+        /**
+         * Latency jitter of the {@code uniform} distribution.
+         */
+        @WithName("latency-jitter")
+        Optional<Duration> latencyJitter();
+
+        /**
+         * Latency distribution.
+         */
+        @WithName("latency-distribution")
+        @WithDefault("fixed")
+        LatencyDistribution latencyDistribution();
+
+        /**
+         * Bandwidth limit of the responses per second, for example {@code 64K}.
+         */
+        @WithName("bandwidth")
+        Optional<MemorySize> bandwidth();
+
+        /**
+         * Rate of the closed connections between {@code 0} and {@code 1}.
+         */
+        @WithName("reset-rate")
+        @WithDefault("0")
+        double resetRate();
+
+        /**
+         * Rate of the error responses between {@code 0} and {@code 1}.
+         */
+        @WithName("error-rate")
+        @WithDefault("0")
+        double errorRate();
+
+        /**
+         * Status code of the error responses.
+         */
+        @WithName("error-status")
+        @WithDefault("503")
+        int errorStatus();
+
+        /**
+         * Latency distribution.
+         */
+        enum LatencyDistribution {
+
+            /**
+             * Fixed latency.
+             */
+            FIXED,
+
+            /**
+             * Uniform distribution between {@code latency - jitter} and {@code latency + jitter}.
+             */
+            UNIFORM,
+
+            /**
+             * Exponential distribution with the {@code latency} mean value.
+             */
+            EXPONENTIAL;
+        }
+    }
+
+    /**
+     * Container shutdown configuration.
+     */
+    interface ShutdownConfig {
+
+        /**
+         * Shutdown mode of the containers.
+         */
+        @WithName("mode")
+        @WithDefault("auto")
+        Mode mode();
+
+        /**
+         * Maximum time the JVM exit waits for the asynchronous container shutdown. The containers which are not
+         * stopped in this time are removed by the Testcontainers resource reaper.
+         */
+        @WithName("grace-period")
+        @WithDefault("2s")
+        Duration gracePeriod();
+
+        /**
+         * Shutdown mode of the containers.
+         */
+        enum Mode {
+
+            /**
+             * The {@code skip} mode for the reused containers, otherwise the {@code async} mode.
+             */
+            AUTO,
+
+            /**
+             * The containers are stopped and removed before the dev service is closed.
+             */
+            SYNC,
+
+            /**
+             * The containers are stopped and removed in the background, the dev service is closed immediately.
+             */
+            ASYNC,
+
+            /**
+             * The containers are not stopped. Reused containers keep running for the next start, the other containers
+             * are removed by the Testcontainers resource reaper after the JVM exit.
+             */
+            SKIP;
+        }
+    }
+
+    /**
+     * Record and replay configuration. The record mode captures the discovery, JWKS and token responses of the realms
+     * into recording files, the replay mode serves them from an in-process server without the container.
+     */
+    interface ReplayConfig {
+
+        /**
+         * Record or replay mode.
+         */
+        @WithName("mode")
+        @WithDefault("disabled")
+        Mode mode();
+
+        /**
+         * Directory of the recording files. The recordings contain the generated private signing key, the client
+         * secrets and the user passwords of the realms. The default directory is outside the build output, so the
+         * recordings survive the clean build, and is ignored by git. Do not commit the recordings of realms with real
+         * credentials.
+         */
+        @WithName("dir")
+        @WithDefault(".lorisgate/recordings")
+        String dir();
+
+        /**
+         * Record or replay mode.
+         */
+        enum Mode {
+
+            /**
+             * The dev service starts the lorisgate server.
+             */
+            DISABLED,
+
+            /**
+             * The dev service starts the lorisgate server and records the discovery, JWKS and token responses of the
+             * configured realms, users and clients.
+             */
+            RECORD,
+
+            /**
+             * The recorded responses are served from an in-process server, the tokens are issued with the current
+             * time and signed by the recorded key. The admin API is not available, the {@code lorislab.lorisgate.endpoint}
+             * points to the replay server which rejects the admin requests with {@code 501 Not Implemented}.
+             */
+            REPLAY;
+        }
+    }
+
+    /**
+     * Warm-up configuration. After the provisioning concurrent token grants and JWKS and discovery requests are sent
+     * to the default realm, so the tests start against a warmed up server.
+     */
+    interface WarmupConfig {
+
+        /**
+         * Enable or disable the warm-up.
+         */
+        @WithName("enabled")
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * Total number of the warm-up requests.
+         */
+        @WithName("requests")
+        @WithDefault("500")
+        int requests();
+
+        /**
+         * Number of the concurrent warm-up requests.
+         */
+        @WithName("concurrency")
+        @WithDefault("8")
+        int concurrency();
+
+        /**
+         * Number of the warm-up rounds. The latency of each round is logged.
+         */
+        @WithName("rounds")
+        @WithDefault("5")
+        int rounds();
+    }
+
+    /**
+     * Realm namespace configuration of the parallel test forks. Each fork provisions the realms with the
+     * {@code -f<fork-id>} suffix and the OIDC properties point to the realms of the fork. Combine with the
+     * test-container reuse to share one container between the forks.
+     */
+    interface ForkNamespaceConfig {
+
+        /**
+         * Enable or disable the realm namespace of the test forks. Enable it only for the parallel test forks, Gradle
+         * sets the worker id for every test run.
+         */
+        @WithName("enabled")
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * Fork id. If not defined, the {@code surefire.forkNumber} or {@code org.gradle.test.worker} system
+         * property is used.
+         */
+        @WithName("fork-id")
+        Optional<String> forkId();
+    }
+
+    /**
+     * Container tmpfs configuration. The writable server directories are mounted in memory, the data is lost
+     * with the container.
+     */
+    interface TmpfsConfig {
+
+        /**
+         * Enable or disable the tmpfs mounts. If not defined, the tmpfs mounts are enabled for the test containers
+         * without the test-container reuse.
+         */
+        @WithName("enabled")
+        Optional<Boolean> enabled();
+
+        /**
+         * Container paths mounted as tmpfs.
+         */
+        @WithName("paths")
+        @WithDefault("/tmp")
+        List<String> paths();
+
+        /**
+         * Size limit of each tmpfs mount.
+         */
+        @WithName("size")
+        @WithDefault("64M")
+        MemorySize size();
+    }
+
+    /**
+     * Container performance configuration.
+     */
+    interface PerformanceConfig {
+
+        /**
+         * CPU shares (relative weight) of the container.
+         */
+        @WithName("cpu-shares")
+        OptionalInt cpuShares();
+
+        /**
+         * Number of CPUs the container can use, for example {@code 1.5}.
+         */
+        @WithName("cpus")
+        Optional<Double> cpus();
+
+        /**
+         * Memory limit of the container, for example {@code 512M}.
+         */
+        @WithName("memory-limit")
+        Optional<MemorySize> memoryLimit();
+
+        /**
+         * JVM options of the server, for example {@code -XX:TieredStopAtLevel=1 -Xss512k}.
+         */
+        @WithName("java-options")
+        Optional<String> javaOptions();
+
+        /**
+         * Environment variable used to pass the JVM options to the server.
+         */
+        @WithName("java-options-env")
+        @WithDefault("JAVA_TOOL_OPTIONS")
+        String javaOptionsEnv();
+
+        /**
+         * Class data sharing configuration.
+         */
+        @WithName("cds")
+        CdsConfig cds();
+    }
+
+    /**
+     * Class data sharing configuration.
+     */
+    interface CdsConfig {
+
+        /**
+         * Enabled or disable the AppCDS archive of the server. When enabled and the archive does not exist,
+         * a training container is started once to generate it. Next starts mount the archive into the container.
+         */
+        @WithName("enabled")
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * Local directory of the AppCDS archives. Default is {@code lorisgate-cds} in the temporary directory.
+         */
+        @WithName("archive-dir")
+        Optional<String> archiveDir();
     }
 
     /**
@@ -0,0 +1,273 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.*;
+
+/**
+ * In-process proxy between the application and the lorisgate server which injects latency, bandwidth limits,
+ * connection resets and errors per endpoint.
+ */
+public class LorisgateFaultProxy implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(LorisgateFaultProxy.class);
+
+    private static final int TIMEOUT = 30;
+
+    /**
+     * The proxy endpoints.
+     */
+    public enum Endpoint {
+
+        /**
+         * The token endpoint.
+         */
+        TOKEN,
+
+        /**
+         * The JWKS endpoint.
+         */
+        JWKS,
+
+        /**
+         * The OIDC discovery endpoint.
+         */
+        DISCOVERY,
+
+        /**
+         * The admin endpoints.
+         */
+        ADMIN,
+
+        /**
+         * All other endpoints.
+         */
+        OTHER;
+
+        /**
+         * Gets the endpoint of the request path.
+         *
+         * @param path the request path.
+         * @return the corresponding endpoint.
+         */
+        public static Endpoint of(String path) {
+            if (path.contains("/.well-known/")) {
+                return DISCOVERY;
+            }
+            if (path.startsWith("/admin")) {
+                return ADMIN;
+            }
+            if (path.endsWith("/token")) {
+                return TOKEN;
+            }
+            if (path.endsWith("/certs") || path.contains("jwks")) {
+                return JWKS;
+            }
+            return OTHER;
+        }
+    }
+
+    private final Vertx vertx;
+
+    private final HttpServer server;
+
+    private final HttpClient client;
+
+    private final String targetHost;
+
+    private final int targetPort;
+
+    private final Map<Endpoint, LorisgateDevServicesConfig.FaultConfig> faults;
+
+    /**
+     * Starts the fault injection proxy.
+     *
+     * @param targetHost the lorisgate server host.
+     * @param targetPort the lorisgate server port.
+     * @param config the fault injection configuration.
+     * @return the started proxy.
+     */
+    public static LorisgateFaultProxy start(String targetHost, int targetPort,
+            LorisgateDevServicesConfig.FaultInjectionConfig config) {
+        Map<Endpoint, LorisgateDevServicesConfig.FaultConfig> faults = new EnumMap<>(Endpoint.class);
+        for (var entry : config.endpoints().entrySet()) {
+            try {
+                faults.put(Endpoint.valueOf(entry.getKey().toUpperCase(Locale.ROOT)), entry.getValue());
+            } catch (IllegalArgumentException ex) {
+                log.warn("Unknown Lorisgate fault injection endpoint '{}', supported endpoints: token, jwks, discovery, "
+                        + "admin, other", entry.getKey());
+            }
+        }
+        var proxy = new LorisgateFaultProxy(targetHost, targetPort, faults);
+        proxy.listen(config.port());
+        return proxy;
+    }
+
+    private LorisgateFaultProxy(String targetHost, int targetPort, Map<Endpoint, LorisgateDevServicesConfig.FaultConfig> faults) {
+        this.targetHost = targetHost;
+        this.targetPort = targetPort;
+        this.faults = faults;
+        this.vertx = Vertx.vertx();
+        this.client = vertx.createHttpClient(new HttpClientOptions().setKeepAlive(true));
+        this.server = vertx.createHttpServer();
+    }
+
+    private void listen(OptionalInt port) {
+        server.requestHandler(this::handle)
+                .listen(port.orElse(0), "localhost")
+                .toCompletionStage().toCompletableFuture()
+                .orTimeout(TIMEOUT, TimeUnit.SECONDS)
+                .join();
+        log.info("Lorisgate fault injection proxy listening on http://localhost:{} -> http://{}:{}", getPort(), targetHost,
+                targetPort);
+    }
+
+    /**
+     * Gets the proxy port.
+     *
+     * @return the proxy port.
+     */
+    public int getPort() {
+        return server.actualPort();
+    }
+
+    /**
+     * Gets the proxy endpoint.
+     *
+     * @return the proxy endpoint.
+     */
+    public String getEndpoint() {
+        return "http://localhost:" + getPort();
+    }
+
+    private void handle(HttpServerRequest request) {
+        var fault = faults.get(Endpoint.of(request.path()));
+        if (fault == null) {
+            forward(request, null);
+            return;
+        }
+
+        var random = ThreadLocalRandom.current();
+        if (fault.resetRate() > 0 && random.nextDouble() < fault.resetRate()) {
+            request.connection().close();
+            return;
+        }
+
+        request.pause();
+        Runnable action = () -> {
+            if (fault.errorRate() > 0 && ThreadLocalRandom.current().nextDouble() < fault.errorRate()) {
+                request.resume();
+                request.response().setStatusCode(fault.errorStatus()).end();
+                return;
+            }
+            forward(request, fault);
+        };
+
+        long delay = delay(fault);
+        if (delay > 0) {
+            vertx.setTimer(delay, id -> action.run());
+        } else {
+            action.run();
+        }
+    }
+
+    private void forward(HttpServerRequest request, LorisgateDevServicesConfig.FaultConfig fault) {
+        request.pause();
+        var options = new RequestOptions()
+                .setMethod(request.method())
+                .setHost(targetHost)
+                .setPort(targetPort)
+                .setURI(request.uri());
+
+        client.request(options)
+                .onSuccess(proxyRequest -> {
+                    // keep the host header, the server builds the OIDC URLs pointing to the proxy
+                    copyHeaders(request.headers(), proxyRequest.headers());
+                    if (request.headers().contains(HttpHeaders.TRANSFER_ENCODING)) {
+                        proxyRequest.setChunked(true);
+                    }
+                    proxyRequest.send(request)
+                            .onSuccess(proxyResponse -> respond(request.response(), proxyResponse, fault))
+                            .onFailure(ex -> badGateway(request, ex));
+                })
+                .onFailure(ex -> badGateway(request, ex));
+    }
+
+    private void respond(HttpServerResponse response, HttpClientResponse proxyResponse,
+            LorisgateDevServicesConfig.FaultConfig fault) {
+        response.setStatusCode(proxyResponse.statusCode());
+        copyHeaders(proxyResponse.headers(), response.headers());
+        if (proxyResponse.headers().contains(HttpHeaders.TRANSFER_ENCODING)) {
+            response.setChunked(true);
+        }
+
+        if (fault == null || fault.bandwidth().isEmpty()) {
+            response.send(proxyResponse);
+            return;
+        }
+
+        // bandwidth limit, the response stream is paused after each chunk
+        long bytesPerSecond = Math.max(1, fault.bandwidth().get().asLongValue());
+        proxyResponse.handler(buffer -> {
+            response.write(buffer);
+            long delay = buffer.length() * 1000L / bytesPerSecond;
+            if (delay > 0) {
+                proxyResponse.pause();
+                vertx.setTimer(delay, id -> proxyResponse.resume());
+            }
+        });
+        proxyResponse.endHandler(v -> response.end());
+        proxyResponse.exceptionHandler(ex -> response.reset());
+    }
+
+    private static void badGateway(HttpServerRequest request, Throwable ex) {
+        log.debug("Lorisgate fault injection proxy request '{}' failed", request.uri(), ex);
+        request.resume();
+        if (!request.response().ended()) {
+            request.response().setStatusCode(502).end(Buffer.buffer("Bad gateway"));
+        }
+    }
+
+    private static void copyHeaders(MultiMap from, MultiMap to) {
+        for (var header : from) {
+            String name = header.getKey();
+            if (!name.equalsIgnoreCase("connection") && !name.equalsIgnoreCase("keep-alive")
+                    && !name.equalsIgnoreCase("transfer-encoding")) {
+                to.add(name, header.getValue());
+            }
+        }
+    }
+
+    private static long delay(LorisgateDevServicesConfig.FaultConfig fault) {
+        long latency = fault.latency().map(Duration::toMillis).orElse(0L);
+        long jitter = fault.latencyJitter().map(Duration::toMillis).orElse(0L);
+        var random = ThreadLocalRandom.current();
+        return switch (fault.latencyDistribution()) {
+            case FIXED -> latency;
+            case UNIFORM -> Math.max(0, latency - jitter + (jitter > 0 ? random.nextLong(2 * jitter + 1) : 0));
+            case EXPONENTIAL -> (long) (-latency * Math.log(1 - random.nextDouble()));
+        };
+    }
+
+    @Override
+    public void close() {
+        try {
+            server.close().toCompletionStage().toCompletableFuture().join();
+        } finally {
+            vertx.close();
+        }
+    }
+}
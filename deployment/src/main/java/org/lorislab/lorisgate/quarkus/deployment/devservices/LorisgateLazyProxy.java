@@ -0,0 +1,152 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.lorislab.lorisgate.quarkus.runtime.LorisgateServerConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.quarkus.deployment.builditem.DevServicesResultBuildItem;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.net.NetClient;
+import io.vertx.core.net.NetServer;
+import io.vertx.core.net.NetSocket;
+
+/**
+ * Accept-and-forward listener of the lazy dev service. The listener reserves the port up front and starts the
+ * lorisgate server on the first connection. All connections are forwarded to the started server.
+ */
+public class LorisgateLazyProxy implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(LorisgateLazyProxy.class);
+
+    private static final int TIMEOUT = 30;
+
+    private final Vertx vertx;
+
+    private final NetServer server;
+
+    private final NetClient client;
+
+    private final Supplier<DevServicesResultBuildItem.RunningDevService> starter;
+
+    private volatile Future<DevServicesResultBuildItem.RunningDevService> service;
+
+    /**
+     * Starts the lazy listener.
+     *
+     * @param port the optional fixed port of the listener.
+     * @param starter the lorisgate server starter called on the first connection.
+     * @return the started listener.
+     */
+    public static LorisgateLazyProxy start(OptionalInt port, Supplier<DevServicesResultBuildItem.RunningDevService> starter) {
+        var proxy = new LorisgateLazyProxy(starter);
+        proxy.listen(port);
+        return proxy;
+    }
+
+    private LorisgateLazyProxy(Supplier<DevServicesResultBuildItem.RunningDevService> starter) {
+        this.starter = starter;
+        this.vertx = Vertx.vertx();
+        this.client = vertx.createNetClient();
+        this.server = vertx.createNetServer();
+    }
+
+    private void listen(OptionalInt port) {
+        server.connectHandler(this::handle)
+                .listen(port.orElse(0), "localhost")
+                .toCompletionStage().toCompletableFuture()
+                .orTimeout(TIMEOUT, TimeUnit.SECONDS)
+                .join();
+        log.info("Lorisgate dev service listening on http://localhost:{}, the server starts on the first connection",
+                getPort());
+    }
+
+    /**
+     * Gets the listener port.
+     *
+     * @return the listener port.
+     */
+    public int getPort() {
+        return server.actualPort();
+    }
+
+    /**
+     * Gets the listener endpoint.
+     *
+     * @return the listener endpoint.
+     */
+    public String getEndpoint() {
+        return "http://localhost:" + getPort();
+    }
+
+    private void handle(NetSocket socket) {
+        socket.pause();
+        service().compose(s -> client.connect(Integer.parseInt(s.getConfig().get(LorisgateServerConfig.CLIENT_PORT)),
+                s.getConfig().get(LorisgateServerConfig.CLIENT_HOST)))
+                .onSuccess(target -> {
+                    socket.pipeTo(target);
+                    target.pipeTo(socket);
+                    socket.resume();
+                })
+                .onFailure(ex -> {
+                    log.error("Lorisgate dev service connection failed", ex);
+                    socket.close();
+                });
+    }
+
+    private Future<DevServicesResultBuildItem.RunningDevService> service() {
+        var result = service;
+        if (result == null) {
+            synchronized (this) {
+                result = service;
+                if (result == null) {
+                    log.info("First connection to the Lorisgate dev service, starting the server");
+                    Promise<DevServicesResultBuildItem.RunningDevService> promise = Promise.promise();
+                    result = promise.future();
+                    service = result;
+                    // the container start is blocking, it must not run on the event loop
+                    Thread thread = new Thread(() -> {
+                        try {
+                            promise.complete(starter.get());
+                        } catch (Throwable t) {
+                            // the next connection retries the start
+                            service = null;
+                            promise.fail(t);
+                        }
+                    }, "lorisgate-lazy-start");
+                    thread.setDaemon(true);
+                    thread.start();
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            server.close().toCompletionStage().toCompletableFuture().join();
+        } finally {
+            var started = service;
+            try {
+                if (started != null) {
+                    // wait for the running start, the container must not outlive the dev service
+                    var running = started.toCompletionStage().toCompletableFuture()
+                            .exceptionally(ex -> null).join();
+                    if (running != null && running.getCloseable() != null) {
+                        running.getCloseable().close();
+                    }
+                }
+            } finally {
+                vertx.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.ext.web.client.WebClient;
+
+/**
+ * Resolved OIDC metadata of the realm. The discovery document is fetched on every start of the dev service and mapped
+ * to the quarkus OIDC endpoint properties, a new container with the same URL never gets the metadata of the previous
+ * one. The endpoints are set relative to the realm URL, so the properties are valid
+ * for every application endpoint of the container, the proxies included.
+ */
+public class LorisgateOidcMetadata {
+
+    private static final Logger log = LoggerFactory.getLogger(LorisgateOidcMetadata.class);
+
+    private static final int TIMEOUT = 30;
+
+    private static final String REALMS = "/realms/";
+
+    /**
+     * The quarkus OIDC properties by discovery metadata key.
+     */
+    private static final Map<String, String> ENDPOINTS = Map.of(
+            "authorization_endpoint", "quarkus.oidc.authorization-path",
+            "token_endpoint", "quarkus.oidc.token-path",
+            "jwks_uri", "quarkus.oidc.jwks-path",
+            "introspection_endpoint", "quarkus.oidc.introspection-path",
+            "userinfo_endpoint", "quarkus.oidc.user-info-path",
+            "end_session_endpoint", "quarkus.oidc.end-session-path");
+
+    private LorisgateOidcMetadata() {
+    }
+
+    /**
+     * Gets the quarkus OIDC properties of the realm. The discovery is disabled only if the metadata is resolved,
+     * a failed resolution returns an empty map.
+     *
+     * @param endpoint the lorisgate server endpoint reachable from the build.
+     * @param realm the realm name.
+     * @param config the metadata configuration.
+     * @return the quarkus OIDC properties.
+     */
+    public static Map<String, String> resolve(String endpoint, String realm,
+            LorisgateDevServicesConfig.MetadataConfig config) {
+        var result = fetch(endpoint + REALMS + realm, realm, config.inlineJwks());
+        return result == null ? Map.of() : result;
+    }
+
+    private static Map<String, String> fetch(String realmUrl, String realm, boolean inlineJwks) {
+        var vertx = Vertx.vertx();
+        var webClient = WebClient.create(new io.vertx.mutiny.core.Vertx(vertx));
+        try {
+            var discovery = get(webClient, realmUrl + "/.well-known/openid-configuration");
+            if (discovery == null) {
+                log.warn("Lorisgate OIDC metadata of the realm '{}' is not available, the discovery stays enabled",
+                        realm);
+                return null;
+            }
+
+            Map<String, String> properties = new LinkedHashMap<>();
+            ENDPOINTS.forEach((key, property) -> {
+                String url = discovery.getString(key);
+                if (url != null) {
+                    properties.put(property, path(url, realm));
+                }
+            });
+
+            String jwksUri = discovery.getString("jwks_uri");
+            if (inlineJwks && jwksUri != null) {
+                var publicKey = publicKey(get(webClient, jwksUri));
+                if (publicKey != null) {
+                    properties.put("quarkus.oidc.public-key", publicKey);
+                } else {
+                    log.warn("Lorisgate JWKS of the realm '{}' is not inlined, a single RSA key is required", realm);
+                }
+            }
+            properties.put("quarkus.oidc.discovery-enabled", "false");
+
+            log.debug("Lorisgate OIDC metadata of the realm '{}': {}", realm, properties);
+            return Collections.unmodifiableMap(properties);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to resolve the Lorisgate OIDC metadata of the realm '{}', the discovery stays enabled",
+                    realm, ex);
+            return null;
+        } finally {
+            webClient.close();
+            vertx.close();
+        }
+    }
+
+    /**
+     * Gets the endpoint path relative to the realm URL. The quarkus OIDC resolves the relative path against the
+     * {@code auth-server-url}, the URL of another server is kept absolute.
+     */
+    static String path(String url, String realm) {
+        var uri = URI.create(url);
+        String prefix = REALMS + realm;
+        String path = uri.getRawPath();
+        if (path == null || !path.startsWith(prefix + "/")) {
+            return url;
+        }
+        String result = path.substring(prefix.length());
+        return uri.getRawQuery() == null ? result : result + "?" + uri.getRawQuery();
+    }
+
+    /**
+     * Gets the base64 encoded public key of the JWKS with a single RSA key.
+     */
+    static String publicKey(JsonObject jwks) {
+        if (jwks == null) {
+            return null;
+        }
+        var keys = jwks.getJsonArray("keys", new JsonArray());
+        if (keys.size() != 1 || !"RSA".equals(keys.getJsonObject(0).getString("kty"))) {
+            return null;
+        }
+        var jwk = keys.getJsonObject(0);
+        var decoder = Base64.getUrlDecoder();
+        try {
+            var spec = new RSAPublicKeySpec(new BigInteger(1, decoder.decode(jwk.getString("n"))),
+                    new BigInteger(1, decoder.decode(jwk.getString("e"))));
+            return Base64.getEncoder().encodeToString(KeyFactory.getInstance("RSA").generatePublic(spec).getEncoded());
+        } catch (GeneralSecurityException | RuntimeException ex) {
+            log.debug("Invalid RSA key in the Lorisgate JWKS", ex);
+            return null;
+        }
+    }
+
+    private static JsonObject get(WebClient webClient, String url) {
+        var response = webClient.getAbs(url).send().await().atMost(Duration.ofSeconds(TIMEOUT));
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        return response.bodyAsJsonObject();
+    }
+}
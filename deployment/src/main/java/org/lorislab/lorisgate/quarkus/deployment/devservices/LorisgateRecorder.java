@@ -0,0 +1,233 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import static org.lorislab.lorisgate.quarkus.deployment.devservices.LorisgateClient.createDefaultRealm;
+import static org.lorislab.lorisgate.quarkus.deployment.devservices.LorisgateClient.createRealm;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import gen.org.lorislab.lorisgate.client.admin.v1.model.RealmV1DTO;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.core.MultiMap;
+import io.vertx.mutiny.ext.web.client.WebClient;
+
+/**
+ * Recorder of the OIDC traffic. The discovery, JWKS and token responses of the configured realms, clients and users
+ * are written into one recording file per realm. The clients and users are taken from the provisioned realms, the
+ * confidential clients are recorded with the client credentials grant and the users with the password grant of the
+ * first confidential client. The tokens are stored as decoded header and claims, the replay
+ * issues them again with the current time and signs them with the key of the recording.
+ */
+public class LorisgateRecorder implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LorisgateRecorder.class);
+
+    private static final int TIMEOUT = 300;
+
+    private static final String[] TOKENS = { "access_token", "id_token", "refresh_token" };
+
+    private final String endpoint;
+
+    private final Vertx vertx;
+
+    private final WebClient webClient;
+
+    /**
+     * The builder method.
+     *
+     * @param endpoint the lorisgate server endpoint.
+     * @return the recorder.
+     */
+    public static LorisgateRecorder create(String endpoint) {
+        return new LorisgateRecorder(endpoint);
+    }
+
+    private LorisgateRecorder(String endpoint) {
+        this.endpoint = endpoint;
+        this.vertx = Vertx.vertx();
+        this.webClient = WebClient.create(new io.vertx.mutiny.core.Vertx(vertx));
+    }
+
+    /**
+     * Records the default realm and the configured realms.
+     *
+     * @param dir the recordings directory.
+     * @param devServicesConfig the dev services configuration.
+     * @throws IOException if the recording file write fails.
+     */
+    public void record(Path dir, LorisgateDevServicesConfig devServicesConfig) throws IOException {
+        Files.createDirectories(dir);
+        var namespace = ForkNamespace.create(devServicesConfig);
+
+        var realm = devServicesConfig.realm();
+        if (realm.create()) {
+            var dto = createDefaultRealm(realm.name(), realm);
+            record(dir, realm.name(), namespace.realm(realm.name()), clients(dto), users(dto));
+        }
+
+        if (devServicesConfig.realms() != null) {
+            for (var entry : devServicesConfig.realms().entrySet()) {
+                var dto = createRealm(entry.getKey(), entry.getValue());
+                record(dir, entry.getKey(), namespace.realm(entry.getKey()), clients(dto), users(dto));
+            }
+        }
+    }
+
+    /**
+     * Gets the secrets of the confidential clients of the realm by client ID.
+     */
+    static Map<String, String> clients(RealmV1DTO realm) {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (realm.getClients() != null) {
+            new TreeMap<>(realm.getClients()).forEach((id, c) -> {
+                if (Boolean.TRUE.equals(c.getConfidential()) && c.getClientSecret() != null) {
+                    result.put(id, c.getClientSecret());
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Gets the passwords of the users of the realm by username.
+     */
+    static Map<String, String> users(RealmV1DTO realm) {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (realm.getUsers() != null) {
+            new TreeMap<>(realm.getUsers()).forEach((username, u) -> {
+                if (u.getPassword() != null) {
+                    result.put(username, u.getPassword());
+                }
+            });
+        }
+        return result;
+    }
+
+    private void record(Path dir, String name, String realm, Map<String, String> clients, Map<String, String> users)
+            throws IOException {
+
+        String url = endpoint + "/realms/" + realm;
+        var discovery = get(url + "/.well-known/openid-configuration");
+        if (discovery == null) {
+            log.warn("Lorisgate recording of the realm '{}' skipped, discovery is not available", realm);
+            return;
+        }
+
+        var recording = new JsonObject()
+                .put("realm", realm)
+                .put("url", url)
+                .put("key", key(dir.resolve(name + ".json")))
+                .put("discovery", discovery);
+
+        String jwksUrl = discovery.getString("jwks_uri");
+        if (jwksUrl != null) {
+            recording.put("jwks", get(jwksUrl));
+        }
+
+        var exchanges = new JsonArray();
+        String tokenUrl = discovery.getString("token_endpoint");
+        if (tokenUrl != null) {
+            for (var client : clients.entrySet()) {
+                exchange(tokenUrl, exchanges, new JsonObject()
+                        .put("grant_type", "client_credentials")
+                        .put("client_id", client.getKey())
+                        .put("client_secret", client.getValue()));
+            }
+            // users with the first confidential client
+            clients.entrySet().stream().findFirst().ifPresent(client -> users.forEach(
+                    (username, password) -> exchange(tokenUrl, exchanges, new JsonObject()
+                            .put("grant_type", "password")
+                            .put("client_id", client.getKey())
+                            .put("client_secret", client.getValue())
+                            .put("username", username)
+                            .put("password", password)
+                            .put("scope", "openid"))));
+        }
+        recording.put("exchanges", exchanges);
+
+        Path file = dir.resolve(name + ".json");
+        Files.writeString(file, recording.encodePrettily(), StandardCharsets.UTF_8);
+        log.info("Lorisgate recording of the realm '{}' with {} token exchanges written to '{}'", realm, exchanges.size(),
+                file);
+    }
+
+    private void exchange(String tokenUrl, JsonArray exchanges, JsonObject request) {
+        var form = MultiMap.caseInsensitiveMultiMap();
+        request.forEach(e -> form.add(e.getKey(), e.getValue().toString()));
+
+        var response = webClient.postAbs(tokenUrl).sendForm(form).await().atMost(Duration.ofSeconds(TIMEOUT));
+        if (response.statusCode() != 200) {
+            log.warn("Lorisgate recording of the {} grant of the client '{}' skipped, status: {}",
+                    request.getString("grant_type"), request.getString("client_id"), response.statusCode());
+            return;
+        }
+
+        var body = response.bodyAsJsonObject();
+        for (String token : TOKENS) {
+            String value = body.getString(token);
+            if (value != null && value.split("\\.").length == 3) {
+                body.put(token, decode(value));
+            }
+        }
+        exchanges.add(new JsonObject().put("request", request).put("response", body));
+    }
+
+    private JsonObject get(String url) {
+        var response = webClient.getAbs(url).send().await().atMost(Duration.ofSeconds(TIMEOUT));
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        return response.bodyAsJsonObject();
+    }
+
+    private static JsonObject decode(String jwt) {
+        String[] parts = jwt.split("\\.");
+        var decoder = Base64.getUrlDecoder();
+        return new JsonObject()
+                .put("header", new JsonObject(new String(decoder.decode(parts[0]), StandardCharsets.UTF_8)))
+                .put("claims", new JsonObject(new String(decoder.decode(parts[1]), StandardCharsets.UTF_8)));
+    }
+
+    private static JsonObject key(Path file) throws IOException {
+        // the key of the existing recording is kept
+        if (Files.exists(file)) {
+            var key = new JsonObject(Files.readString(file, StandardCharsets.UTF_8)).getJsonObject("key");
+            if (key != null) {
+                return key;
+            }
+        }
+        try {
+            var generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            var pair = generator.generateKeyPair();
+            var encoder = Base64.getEncoder();
+            return new JsonObject()
+                    .put("kid", UUID.randomUUID().toString())
+                    .put("private", encoder.encodeToString(pair.getPrivate().getEncoded()))
+                    .put("public", encoder.encodeToString(pair.getPublic().getEncoded()));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("RSA key generator is not available", ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        webClient.close();
+        vertx.close();
+    }
+}
@@ -0,0 +1,339 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * In-process server of the recorded OIDC traffic. The discovery, JWKS and token endpoints of the recorded realms are
+ * served without the lorisgate server. The recorded URLs are rewritten to the server endpoint, the tokens are issued
+ * with the current {@code iat} and {@code exp} and signed by the key of the recording.
+ */
+public class LorisgateReplayServer implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(LorisgateReplayServer.class);
+
+    private static final int TIMEOUT = 30;
+
+    private static final String[] TIMESTAMPS = { "nbf", "auth_time" };
+
+    private static final String ADMIN = "/admin/";
+
+    private final Vertx vertx;
+
+    private final HttpServer server;
+
+    private final Map<String, Consumer<HttpServerRequest>> routes = new HashMap<>();
+
+    /**
+     * Starts the replay server.
+     *
+     * @param dir the recordings directory.
+     * @param port the optional fixed port of the server.
+     * @param namespace the realm namespace of the test fork.
+     * @return the started server.
+     */
+    public static LorisgateReplayServer start(Path dir, OptionalInt port, ForkNamespace namespace) {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(dir)) {
+            files = stream.filter(f -> f.getFileName().toString().endsWith(".json")).sorted().toList();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Lorisgate recordings directory '" + dir
+                    + "' is not readable, record it with lorislab.lorisgate.devservices.replay.mode=record", ex);
+        }
+        if (files.isEmpty()) {
+            throw new IllegalStateException("No Lorisgate recordings in the directory '" + dir
+                    + "', record them with lorislab.lorisgate.devservices.replay.mode=record");
+        }
+
+        var server = new LorisgateReplayServer();
+        server.listen(port);
+        try {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                server.load(file, namespace.realm(name.substring(0, name.length() - ".json".length())));
+            }
+        } catch (RuntimeException ex) {
+            server.close();
+            throw ex;
+        }
+        return server;
+    }
+
+    private LorisgateReplayServer() {
+        this.vertx = Vertx.vertx();
+        this.server = vertx.createHttpServer();
+    }
+
+    private void listen(OptionalInt port) {
+        server.requestHandler(this::handle)
+                .listen(port.orElse(0), "localhost")
+                .toCompletionStage().toCompletableFuture()
+                .orTimeout(TIMEOUT, TimeUnit.SECONDS)
+                .join();
+        log.info("Lorisgate replay server listening on http://localhost:{}", getPort());
+    }
+
+    /**
+     * Gets the server port.
+     *
+     * @return the server port.
+     */
+    public int getPort() {
+        return server.actualPort();
+    }
+
+    /**
+     * Gets the server endpoint.
+     *
+     * @return the server endpoint.
+     */
+    public String getEndpoint() {
+        return "http://localhost:" + getPort();
+    }
+
+    private void load(Path file, String realm) {
+        String content;
+        try {
+            content = Files.readString(file, StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read the Lorisgate recording " + file, ex);
+        }
+
+        // the recorded realm URL points to the replay server and the realm of the test fork
+        var recorded = new JsonObject(content);
+        String url = getEndpoint() + "/realms/" + realm;
+        var recording = new JsonObject(content.replace(recorded.getString("url"), url));
+
+        var key = new RecordingKey(recording.getJsonObject("key"));
+        var discovery = recording.getJsonObject("discovery");
+
+        routes.put(path(url + "/.well-known/openid-configuration"), r -> json(r, 200, discovery));
+        String jwksUri = discovery.getString("jwks_uri");
+        if (jwksUri != null) {
+            var jwks = new JsonObject().put("keys", new JsonArray().add(key.jwk()));
+            routes.put(path(jwksUri), r -> json(r, 200, jwks));
+        }
+        String tokenEndpoint = discovery.getString("token_endpoint");
+        if (tokenEndpoint != null) {
+            var exchanges = recording.getJsonArray("exchanges", new JsonArray());
+            routes.put(path(tokenEndpoint), r -> token(r, exchanges, key));
+        }
+        log.info("Lorisgate replay of the realm '{}' from '{}'", realm, file);
+    }
+
+    private void handle(HttpServerRequest request) {
+        if ("/q/health".equals(request.path())) {
+            json(request, 200, new JsonObject().put("status", "UP"));
+            return;
+        }
+        if (request.path().startsWith(ADMIN)) {
+            log.warn("Lorisgate replay request '{} {}', the admin API is not available in the replay mode",
+                    request.method(), request.path());
+            json(request, 501, error("not_implemented", "The admin API is not available in the replay mode"));
+            return;
+        }
+        var route = routes.get(request.path());
+        if (route == null) {
+            log.warn("Lorisgate replay request '{} {}' is not recorded", request.method(), request.path());
+            json(request, 404, error("not_found", "Request is not recorded"));
+            return;
+        }
+        route.accept(request);
+    }
+
+    private void token(HttpServerRequest request, JsonArray exchanges, RecordingKey key) {
+        if (request.method() != HttpMethod.POST) {
+            json(request, 405, error("invalid_request", "Method not allowed"));
+            return;
+        }
+        request.setExpectMultipart(true);
+        request.endHandler(v -> {
+            var form = request.formAttributes();
+            String clientId = form.get("client_id");
+            String clientSecret = form.get("client_secret");
+
+            // client_secret_basic authentication
+            String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (authorization != null && authorization.regionMatches(true, 0, "Basic ", 0, 6)) {
+                String[] credentials = new String(Base64.getDecoder().decode(authorization.substring(6).trim()),
+                        StandardCharsets.UTF_8).split(":", 2);
+                clientId = URLDecoder.decode(credentials[0], StandardCharsets.UTF_8);
+                clientSecret = credentials.length > 1 ? URLDecoder.decode(credentials[1], StandardCharsets.UTF_8) : null;
+            }
+
+            String grantType = form.get("grant_type");
+            String username = form.get("username");
+            for (int i = 0; i < exchanges.size(); i++) {
+                var exchange = exchanges.getJsonObject(i);
+                var recorded = exchange.getJsonObject("request");
+                if (!Objects.equals(grantType, recorded.getString("grant_type"))
+                        || !Objects.equals(clientId, recorded.getString("client_id"))
+                        || !Objects.equals(username, recorded.getString("username"))) {
+                    continue;
+                }
+                if (!Objects.equals(clientSecret, recorded.getString("client_secret"))) {
+                    json(request, 401, error("invalid_client", "Invalid client credentials"));
+                    return;
+                }
+                if (username != null && !Objects.equals(form.get("password"), recorded.getString("password"))) {
+                    json(request, 400, error("invalid_grant", "Invalid user credentials"));
+                    return;
+                }
+                json(request, 200, issue(exchange.getJsonObject("response"), key));
+                return;
+            }
+            log.warn("Lorisgate replay {} grant of the client '{}' is not recorded", grantType, clientId);
+            json(request, 400, error("invalid_grant", "Grant is not recorded"));
+        });
+    }
+
+    private static JsonObject issue(JsonObject recorded, RecordingKey key) {
+        long now = System.currentTimeMillis() / 1000;
+        var response = recorded.copy();
+        for (var entry : recorded) {
+            if (!(entry.getValue() instanceof JsonObject token) || !token.containsKey("claims")) {
+                continue;
+            }
+            var claims = token.getJsonObject("claims").copy();
+            Long iat = claims.getLong("iat");
+            Long exp = claims.getLong("exp");
+            if (iat != null) {
+                claims.put("iat", now);
+                if (exp != null) {
+                    claims.put("exp", now + (exp - iat));
+                }
+            }
+            for (String timestamp : TIMESTAMPS) {
+                if (claims.containsKey(timestamp)) {
+                    claims.put(timestamp, now);
+                }
+            }
+            if (claims.containsKey("jti")) {
+                claims.put("jti", UUID.randomUUID().toString());
+            }
+            var header = token.getJsonObject("header", new JsonObject()).copy()
+                    .put("alg", "RS256")
+                    .put("kid", key.kid);
+            response.put(entry.getKey(), key.sign(header, claims));
+        }
+        return response;
+    }
+
+    private static JsonObject error(String error, String description) {
+        return new JsonObject().put("error", error).put("error_description", description);
+    }
+
+    private static void json(HttpServerRequest request, int status, JsonObject body) {
+        request.response()
+                .setStatusCode(status)
+                .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                .end(body.encode());
+    }
+
+    private static String path(String url) {
+        return URI.create(url).getPath();
+    }
+
+    @Override
+    public void close() {
+        try {
+            server.close().toCompletionStage().toCompletableFuture().join();
+        } finally {
+            vertx.close();
+        }
+    }
+
+    /**
+     * The signing key of the recording.
+     */
+    private static class RecordingKey {
+
+        private final String kid;
+
+        private final PrivateKey privateKey;
+
+        private final RSAPublicKey publicKey;
+
+        RecordingKey(JsonObject key) {
+            this.kid = key.getString("kid");
+            try {
+                var factory = KeyFactory.getInstance("RSA");
+                var decoder = Base64.getDecoder();
+                this.privateKey = factory.generatePrivate(new PKCS8EncodedKeySpec(decoder.decode(key.getString("private"))));
+                this.publicKey = (RSAPublicKey) factory
+                        .generatePublic(new X509EncodedKeySpec(decoder.decode(key.getString("public"))));
+            } catch (GeneralSecurityException ex) {
+                throw new IllegalStateException("Invalid key of the Lorisgate recording", ex);
+            }
+        }
+
+        JsonObject jwk() {
+            return new JsonObject()
+                    .put("kty", "RSA")
+                    .put("use", "sig")
+                    .put("alg", "RS256")
+                    .put("kid", kid)
+                    .put("n", encode(publicKey.getModulus()))
+                    .put("e", encode(publicKey.getPublicExponent()));
+        }
+
+        String sign(JsonObject header, JsonObject claims) {
+            var encoder = Base64.getUrlEncoder().withoutPadding();
+            String content = encoder.encodeToString(header.encode().getBytes(StandardCharsets.UTF_8)) + "."
+                    + encoder.encodeToString(claims.encode().getBytes(StandardCharsets.UTF_8));
+            try {
+                var signature = Signature.getInstance("SHA256withRSA");
+                signature.initSign(privateKey);
+                signature.update(content.getBytes(StandardCharsets.US_ASCII));
+                return content + "." + encoder.encodeToString(signature.sign());
+            } catch (GeneralSecurityException ex) {
+                throw new IllegalStateException("Failed to sign the replayed token", ex);
+            }
+        }
+
+        private static String encode(BigInteger value) {
+            byte[] bytes = value.toByteArray();
+            // unsigned big-endian value without the sign byte
+            if (bytes.length > 1 && bytes[0] == 0) {
+                bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Recorded phases of the dev service start. The build has no OpenTelemetry SDK, the phases are published
+ * in the {@code lorislab.lorisgate.dev-service-trace} property and the application exports them as spans
+ * at the startup. The phases and the admin requests sent to the server share the trace of a remote parent
+ * context, the admin requests carry the {@code traceparent} header of this context.
+ * <p>
+ * The phases are recorded by the build thread only.
+ */
+public class LorisgateTracing {
+
+    /**
+     * The realm attribute.
+     */
+    public static final String REALM = "lorisgate.realm";
+
+    /**
+     * The realm file attribute.
+     */
+    public static final String FILE = "lorisgate.file";
+
+    /**
+     * The container image attribute.
+     */
+    public static final String IMAGE = "lorisgate.image";
+
+    /**
+     * The disabled tracing.
+     */
+    public static final LorisgateTracing NOOP = new LorisgateTracing(null);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final String traceparent;
+
+    private final List<JsonObject> phases = new ArrayList<>();
+
+    private final Deque<Integer> current = new ArrayDeque<>();
+
+    private LorisgateTracing(String traceparent) {
+        this.traceparent = traceparent;
+    }
+
+    /**
+     * Creates the tracing.
+     *
+     * @param enabled enable or disable the tracing.
+     * @return the tracing.
+     */
+    public static LorisgateTracing create(boolean enabled) {
+        if (!enabled) {
+            return NOOP;
+        }
+        return new LorisgateTracing("00-" + random(16) + "-" + random(8) + "-01");
+    }
+
+    /**
+     * Returns {@code true} if the phases are recorded.
+     *
+     * @return {@code true} if the phases are recorded.
+     */
+    public boolean enabled() {
+        return traceparent != null;
+    }
+
+    /**
+     * Gets the trace context headers of the admin requests.
+     *
+     * @return the trace context headers, empty if the tracing is disabled.
+     */
+    public Map<String, String> headers() {
+        return enabled() ? Map.of("traceparent", traceparent) : Map.of();
+    }
+
+    /**
+     * Runs the action in the phase.
+     *
+     * @param name the phase name.
+     * @param attributes the phase attributes.
+     * @param action the action.
+     */
+    public void span(String name, Map<String, String> attributes, Runnable action) {
+        span(name, attributes, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the action in the phase.
+     *
+     * @param name the phase name.
+     * @param attributes the phase attributes.
+     * @param action the action.
+     * @param <T> the result type.
+     * @return the result of the action.
+     */
+    public <T> T span(String name, Map<String, String> attributes, Supplier<T> action) {
+        if (!enabled()) {
+            return action.get();
+        }
+        var values = new JsonObject();
+        attributes.forEach(values::put);
+
+        // the parent is recorded before the children
+        var phase = new JsonObject()
+                .put("name", name)
+                .put("parent", current.isEmpty() ? -1 : current.peek())
+                .put("start", nanos(Instant.now()))
+                .put("attributes", values);
+        phases.add(phase);
+        current.push(phases.size() - 1);
+        try {
+            return action.get();
+        } catch (RuntimeException ex) {
+            phase.put("error", ex.toString());
+            throw ex;
+        } finally {
+            current.pop();
+            phase.put("end", nanos(Instant.now()));
+        }
+    }
+
+    /**
+     * Encodes the trace context and the recorded phases for the application.
+     *
+     * @return the encoded phases or {@code null} if the tracing is disabled.
+     */
+    public String encode() {
+        if (!enabled()) {
+            return null;
+        }
+        return new JsonObject()
+                .put("traceparent", traceparent)
+                .put("spans", new JsonArray(new ArrayList<>(phases)))
+                .encode();
+    }
+
+    private static long nanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private static String random(int size) {
+        byte[] data = new byte[size];
+        RANDOM.nextBytes(data);
+        // an all zero identifier is invalid
+        data[0] |= 1;
+        return HexFormat.of().formatHex(data);
+    }
+}
@@ -0,0 +1,172 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import static org.lorislab.lorisgate.quarkus.deployment.devservices.LorisgateClient.createDefaultRealm;
+import static org.lorislab.lorisgate.quarkus.deployment.devservices.LorisgateClient.createRealm;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClientOptions;
+import io.vertx.mutiny.core.MultiMap;
+import io.vertx.mutiny.core.buffer.Buffer;
+import io.vertx.mutiny.ext.web.client.HttpResponse;
+import io.vertx.mutiny.ext.web.client.WebClient;
+
+/**
+ * Warm-up of the lorisgate server. Concurrent token grants and JWKS and discovery requests are sent in rounds
+ * before the tests start, the latency of each round is logged. The requests cover the default realm and the configured
+ * realms like the {@link LorisgateRecorder}, the confidential clients send the client credentials grant and the users
+ * the password grant of the first confidential client of the realm.
+ */
+public class LorisgateWarmup implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LorisgateWarmup.class);
+
+    private static final int TIMEOUT = 300;
+
+    private final String endpoint;
+
+    private final Vertx vertx;
+
+    private final WebClient webClient;
+
+    /**
+     * The builder method.
+     *
+     * @param endpoint the lorisgate server endpoint.
+     * @return the warm-up.
+     */
+    public static LorisgateWarmup create(String endpoint) {
+        return new LorisgateWarmup(endpoint);
+    }
+
+    private LorisgateWarmup(String endpoint) {
+        this.endpoint = endpoint;
+        this.vertx = Vertx.vertx();
+        this.webClient = WebClient.create(new io.vertx.mutiny.core.Vertx(vertx),
+                new WebClientOptions().setMaxPoolSize(64));
+    }
+
+    /**
+     * Runs the warm-up of the default realm and the configured realms.
+     *
+     * @param devServicesConfig the dev services configuration.
+     */
+    public void run(LorisgateDevServicesConfig devServicesConfig) {
+        var namespace = ForkNamespace.create(devServicesConfig);
+        List<Supplier<Uni<HttpResponse<Buffer>>>> requests = new ArrayList<>();
+
+        var realm = devServicesConfig.realm();
+        if (realm.create()) {
+            var dto = createDefaultRealm(realm.name(), realm);
+            add(requests, namespace.realm(realm.name()), LorisgateRecorder.clients(dto), LorisgateRecorder.users(dto));
+        }
+        if (devServicesConfig.realms() != null) {
+            for (var entry : devServicesConfig.realms().entrySet()) {
+                var dto = createRealm(entry.getKey(), entry.getValue());
+                add(requests, namespace.realm(entry.getKey()), LorisgateRecorder.clients(dto),
+                        LorisgateRecorder.users(dto));
+            }
+        }
+        if (requests.isEmpty()) {
+            log.warn("Lorisgate warm-up skipped, no realm with the discovery is available");
+            return;
+        }
+
+        var config = devServicesConfig.warmup();
+        int rounds = Math.max(1, config.rounds());
+        int perRound = Math.max(1, config.requests() / rounds);
+        int concurrency = Math.max(1, config.concurrency());
+        AtomicInteger errors = new AtomicInteger();
+        long start = System.nanoTime();
+
+        for (int round = 1; round <= rounds; round++) {
+            List<Long> latencies = Multi.createFrom().range(0, perRound)
+                    .onItem().transformToUni(i -> timed(requests.get(i % requests.size()), errors))
+                    .merge(concurrency)
+                    .collect().asList()
+                    .await().atMost(Duration.ofSeconds(TIMEOUT));
+
+            Collections.sort(latencies);
+            log.info("Lorisgate warm-up round {}/{}: {} requests, p50={}ms p90={}ms max={}ms", round, rounds, perRound,
+                    percentile(latencies, 50), percentile(latencies, 90), latencies.get(latencies.size() - 1));
+        }
+
+        log.info("Lorisgate warm-up finished in {}ms with {} failed requests",
+                Duration.ofNanos(System.nanoTime() - start).toMillis(), errors.get());
+    }
+
+    private void add(List<Supplier<Uni<HttpResponse<Buffer>>>> requests, String realm, Map<String, String> clients,
+            Map<String, String> users) {
+        String realmUrl = endpoint + "/realms/" + realm;
+        var discovery = webClient.getAbs(realmUrl + "/.well-known/openid-configuration")
+                .send()
+                .await().atMost(Duration.ofSeconds(TIMEOUT));
+        if (discovery.statusCode() != 200) {
+            log.warn("Lorisgate warm-up of the realm '{}' skipped, discovery status: {}", realm,
+                    discovery.statusCode());
+            return;
+        }
+        JsonObject metadata = discovery.bodyAsJsonObject();
+        String tokenUrl = metadata.getString("token_endpoint");
+        String jwksUrl = metadata.getString("jwks_uri");
+
+        requests.add(() -> webClient.getAbs(realmUrl + "/.well-known/openid-configuration").send());
+        if (jwksUrl != null) {
+            requests.add(() -> webClient.getAbs(jwksUrl).send());
+        }
+        if (tokenUrl == null) {
+            return;
+        }
+        for (var client : clients.entrySet()) {
+            requests.add(() -> webClient.postAbs(tokenUrl).sendForm(MultiMap.caseInsensitiveMultiMap()
+                    .add("grant_type", "client_credentials")
+                    .add("client_id", client.getKey())
+                    .add("client_secret", client.getValue())));
+        }
+        // users with the first confidential client
+        clients.entrySet().stream().findFirst().ifPresent(client -> users.forEach(
+                (username, password) -> requests.add(() -> webClient.postAbs(tokenUrl)
+                        .sendForm(MultiMap.caseInsensitiveMultiMap()
+                                .add("grant_type", "password")
+                                .add("client_id", client.getKey())
+                                .add("client_secret", client.getValue())
+                                .add("username", username)
+                                .add("password", password)
+                                .add("scope", "openid")))));
+    }
+
+    private static Uni<Long> timed(Supplier<Uni<HttpResponse<Buffer>>> request, AtomicInteger errors) {
+        long start = System.nanoTime();
+        return request.get()
+                .onItemOrFailure().transform((response, failure) -> {
+                    if (failure != null || response.statusCode() >= 400) {
+                        errors.incrementAndGet();
+                    }
+                    return Duration.ofNanos(System.nanoTime() - start).toMillis();
+                });
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    @Override
+    public void close() {
+        webClient.close();
+        vertx.close();
+    }
+}
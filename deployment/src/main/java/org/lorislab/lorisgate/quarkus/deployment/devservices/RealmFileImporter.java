@@ -0,0 +1,234 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.lorislab.lorisgate.quarkus.client.AdminJsonCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import gen.org.lorislab.lorisgate.client.admin.v1.model.ClientV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.RealmV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.RoleV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.UserV1DTO;
+
+/**
+ * Streaming import of the JSON or YAML realm export files. The file is read through a file channel with a streaming
+ * parser and the users and clients are sent to the server in bounded parallel batches, so the memory usage does not
+ * depend on the file size.
+ * <p>
+ * The file contains a realm object or an array of realm objects. The realm {@code name} must precede the
+ * {@code users} and {@code clients} of the realm. The realm attributes after the users or clients are updated once the
+ * realm object is read.
+ */
+public class RealmFileImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(RealmFileImporter.class);
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private static final JsonFactory YAML = new YAMLFactory();
+
+    private final LorisgateClient client;
+
+    private final int batchSize;
+
+    private final ForkNamespace namespace;
+
+    /**
+     * The builder method.
+     *
+     * @param client the lorisgate client.
+     * @param batchSize the number of users or clients sent in parallel.
+     * @param namespace the realm namespace of the test fork.
+     * @return the realm file importer.
+     */
+    public static RealmFileImporter create(LorisgateClient client, int batchSize, ForkNamespace namespace) {
+        return new RealmFileImporter(client, batchSize, namespace);
+    }
+
+    private RealmFileImporter(LorisgateClient client, int batchSize, ForkNamespace namespace) {
+        this.client = client;
+        this.batchSize = Math.max(1, batchSize);
+        this.namespace = namespace;
+    }
+
+    /**
+     * Import the realm export file.
+     *
+     * @param file the JSON or YAML realm export file.
+     * @throws IOException if the file could not be read.
+     */
+    public void importFile(Path file) throws IOException {
+        var factory = isYaml(file) ? YAML : JSON;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                InputStream input = Channels.newInputStream(channel);
+                JsonParser parser = factory.createParser(input)) {
+
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    importRealm(parser, file);
+                }
+            } else if (token == JsonToken.START_OBJECT) {
+                importRealm(parser, file);
+            } else {
+                throw new IOException("Realm export file '" + file + "' does not contain a realm object or array");
+            }
+        }
+    }
+
+    private void importRealm(JsonParser parser, Path file) throws IOException {
+        var state = new RealmState(new RealmV1DTO());
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "name" -> state.realm.name(namespace.realm(parser.getValueAsString()));
+                case "displayName" -> {
+                    state.realm.displayName(parser.getValueAsString());
+                    state.changed |= state.created;
+                }
+                case "frontendUrl" -> {
+                    state.realm.frontendUrl(parser.getValueAsString());
+                    state.changed |= state.created;
+                }
+                case "enabled" -> {
+                    state.realm.enabled(parser.getValueAsBoolean(true));
+                    state.changed |= state.created;
+                }
+                case "roles" -> {
+                    state.realm.roles(AdminJsonCodec.readMap(parser, RoleV1DTO.class));
+                    state.changed |= state.created;
+                }
+                case "users" -> importUsers(parser, state, file);
+                case "clients" -> importClients(parser, state, file);
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (!state.created) {
+            create(state, file);
+        } else if (state.changed && !state.skipped) {
+            // realm attributes read after the realm was created with the first users or clients
+            client.updateRealm(new RealmV1DTO().name(state.realm.getName()).displayName(state.realm.getDisplayName())
+                    .enabled(state.realm.getEnabled()).frontendUrl(state.realm.getFrontendUrl())
+                    .roles(state.realm.getRoles()));
+        }
+        if (!state.skipped) {
+            log.info("Realm '{}' imported from '{}' with {} users and {} clients.", state.realm.getName(), file,
+                    state.users, state.clients);
+        }
+    }
+
+    private void importUsers(JsonParser parser, RealmState state, Path file) throws IOException {
+        create(state, file);
+        List<UserV1DTO> batch = new ArrayList<>(batchSize);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String username = parser.currentName();
+            parser.nextToken();
+            if (state.skipped) {
+                parser.skipChildren();
+                continue;
+            }
+            var user = AdminJsonCodec.read(parser, UserV1DTO.class);
+            if (user.getUsername() == null) {
+                user.username(username);
+            }
+            batch.add(user);
+            if (batch.size() == batchSize) {
+                client.createUsers(state.realm.getName(), batch);
+                state.users += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            client.createUsers(state.realm.getName(), batch);
+            state.users += batch.size();
+        }
+    }
+
+    private void importClients(JsonParser parser, RealmState state, Path file) throws IOException {
+        create(state, file);
+        List<ClientV1DTO> batch = new ArrayList<>(batchSize);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String clientId = parser.currentName();
+            parser.nextToken();
+            if (state.skipped) {
+                parser.skipChildren();
+                continue;
+            }
+            var c = AdminJsonCodec.read(parser, ClientV1DTO.class);
+            if (c.getClientId() == null) {
+                c.clientId(clientId);
+            }
+            batch.add(c);
+            if (batch.size() == batchSize) {
+                client.createClients(state.realm.getName(), batch);
+                state.clients += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            client.createClients(state.realm.getName(), batch);
+            state.clients += batch.size();
+        }
+    }
+
+    private void create(RealmState state, Path file) {
+        if (state.created) {
+            return;
+        }
+        state.created = true;
+        String name = state.realm.getName();
+        if (name == null) {
+            throw new IllegalStateException("Realm name must precede the users and clients in the file '" + file + "'");
+        }
+        if (client.getRealm(name) != null) {
+            log.warn("Realm '{}' already exists, skip import from '{}'.", name, file);
+            state.skipped = true;
+            return;
+        }
+        client.createRealm(state.realm);
+    }
+
+    private static boolean isYaml(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".yaml") || name.endsWith(".yml");
+    }
+
+    /**
+     * The import state of the realm.
+     */
+    private static class RealmState {
+
+        private final RealmV1DTO realm;
+
+        private boolean created;
+
+        private boolean skipped;
+
+        private boolean changed;
+
+        private int users;
+
+        private int clients;
+
+        private RealmState(RealmV1DTO realm) {
+            this.realm = realm;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import static org.lorislab.lorisgate.quarkus.deployment.devservices.LorisgateClient.createDefaultRealm;
+import static org.lorislab.lorisgate.quarkus.deployment.devservices.LorisgateClient.createRealm;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.lorislab.lorisgate.quarkus.client.AdminJsonCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serialized realm provisioning payloads. The payloads are computed once per configuration fingerprint and stored
+ * in the build output directory, restarts and repeated test runs send the pre-encoded bytes.
+ */
+public class RealmPayloads {
+
+    private static final Logger log = LoggerFactory.getLogger(RealmPayloads.class);
+
+    /**
+     * The payload format version. Increase the version when the realm DTO or the payload mapping changes.
+     */
+    static final int FORMAT_VERSION = 2;
+
+    /**
+     * The cache directory in the build output directory.
+     */
+    static final String DIR = "lorisgate-devservices";
+
+    private static final String INDEX = "index";
+
+    private static final String SUFFIX = ".json";
+
+    /**
+     * The in-memory payloads by fingerprint.
+     */
+    private static final Map<String, RealmPayloads> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * The payloads by realm name in the provisioning order.
+     */
+    private final Map<String, byte[]> payloads;
+
+    private RealmPayloads(Map<String, byte[]> payloads) {
+        this.payloads = payloads;
+    }
+
+    /**
+     * Gets the realm payloads of the configuration. The payloads are loaded from the build output directory or computed
+     * and stored when the configuration has changed.
+     *
+     * @param outputDir the build output directory.
+     * @param fingerprint the configuration fingerprint.
+     * @param namespace the realm namespace of the test fork.
+     * @param config the dev service configuration.
+     * @return the realm payloads.
+     */
+    public static RealmPayloads create(Path outputDir, String fingerprint, ForkNamespace namespace,
+            LorisgateDevServicesConfig config) {
+        return CACHE.computeIfAbsent(fingerprint + namespace.getSuffix(), key -> {
+            Path dir = outputDir.resolve(DIR).resolve("realms-v" + FORMAT_VERSION + "-" + key);
+            var result = load(dir);
+            if (result != null) {
+                log.debug("Lorisgate realm payloads loaded from {}", dir);
+                return result;
+            }
+            result = new RealmPayloads(encode(namespace, config));
+            result.save(dir);
+            return result;
+        });
+    }
+
+    /**
+     * Gets the realm payloads by realm name in the provisioning order.
+     *
+     * @return the realm payloads.
+     */
+    public Map<String, byte[]> getPayloads() {
+        return Collections.unmodifiableMap(payloads);
+    }
+
+    private static Map<String, byte[]> encode(ForkNamespace namespace, LorisgateDevServicesConfig config) {
+        Map<String, byte[]> result = new LinkedHashMap<>();
+        if (config.realm().create()) {
+            var realm = createDefaultRealm(namespace.realm(config.realm().name()), config.realm());
+            result.put(realm.getName(), AdminJsonCodec.encode(realm));
+        }
+        if (config.realms() != null) {
+            for (var entry : config.realms().entrySet()) {
+                var realm = createRealm(namespace.realm(entry.getKey()), entry.getValue());
+                result.put(realm.getName(), AdminJsonCodec.encode(realm));
+            }
+        }
+        return result;
+    }
+
+    private static RealmPayloads load(Path dir) {
+        Path index = dir.resolve(INDEX);
+        if (!Files.exists(index)) {
+            return null;
+        }
+        try {
+            Map<String, byte[]> result = new LinkedHashMap<>();
+            var names = Files.readAllLines(index, StandardCharsets.UTF_8);
+            for (int i = 0; i < names.size(); i++) {
+                result.put(names.get(i), Files.readAllBytes(dir.resolve(i + SUFFIX)));
+            }
+            return new RealmPayloads(result);
+        } catch (IOException ex) {
+            log.debug("Failed to load the Lorisgate realm payloads from {}", dir, ex);
+            return null;
+        }
+    }
+
+    private void save(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            // the payload files are named by position, the realm names are stored in the index
+            int i = 0;
+            for (byte[] payload : payloads.values()) {
+                Files.write(dir.resolve(i++ + SUFFIX), payload);
+            }
+            // the index is written last, an incomplete directory is never loaded
+            Path tmp = Files.createTempFile(dir, INDEX, ".tmp");
+            Files.write(tmp, payloads.keySet(), StandardCharsets.UTF_8);
+            Files.move(tmp, dir.resolve(INDEX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            log.debug("Failed to store the Lorisgate realm payloads in {}", dir, ex);
+        }
+    }
+}
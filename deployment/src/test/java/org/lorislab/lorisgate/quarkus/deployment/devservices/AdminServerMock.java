@@ -0,0 +1,178 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.lorislab.lorisgate.quarkus.client.AdminJsonCodec;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import gen.org.lorislab.lorisgate.client.admin.v1.model.ClientSearchResultV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.ClientV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.RealmV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.UserSearchResultV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.UserV1DTO;
+
+/**
+ * In-memory admin API of the lorisgate server for the tests. The server keeps the user passwords and never returns
+ * them, every modifying request is recorded. The token endpoint only answers the password grant with the status.
+ */
+class AdminServerMock implements AutoCloseable {
+
+    private static final String PREFIX = "/admin/realms";
+
+    final Map<String, RealmV1DTO> realms = new ConcurrentHashMap<>();
+
+    final Map<String, Map<String, UserV1DTO>> users = new ConcurrentHashMap<>();
+
+    final Map<String, Map<String, ClientV1DTO>> clients = new ConcurrentHashMap<>();
+
+    final List<String> requests = new CopyOnWriteArrayList<>();
+
+    final List<String> traceparents = new CopyOnWriteArrayList<>();
+
+    private final HttpServer server;
+
+    AdminServerMock() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(PREFIX, this::handle);
+        server.createContext("/realms", this::token);
+        server.start();
+    }
+
+    String getEndpoint() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().substring(PREFIX.length()).split("/");
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            String traceparent = exchange.getRequestHeaders().getFirst("traceparent");
+            if (traceparent != null) {
+                traceparents.add(traceparent);
+            }
+            if (!"GET".equals(method)) {
+                requests.add(method + " " + exchange.getRequestURI().getPath());
+            }
+
+            // path: ["", realm, collection, id]
+            String realm = path.length > 1 ? path[1] : null;
+            String collection = path.length > 2 ? path[2] : null;
+            String id = path.length > 3 ? path[3] : null;
+
+            if (realm == null) {
+                var value = AdminJsonCodec.decode(body, RealmV1DTO.class);
+                users.put(value.getName(), new LinkedHashMap<>(value.getUsers() == null ? Map.of() : value.getUsers()));
+                clients.put(value.getName(),
+                        new LinkedHashMap<>(value.getClients() == null ? Map.of() : value.getClients()));
+                realms.put(value.getName(), value.users(null).clients(null));
+                send(exchange, 201, null);
+                return;
+            }
+            if (!realms.containsKey(realm)) {
+                send(exchange, 404, null);
+                return;
+            }
+            if (collection == null) {
+                switch (method) {
+                    case "GET" -> send(exchange, 200, realms.get(realm));
+                    case "PUT" -> {
+                        realms.put(realm, AdminJsonCodec.decode(body, RealmV1DTO.class));
+                        send(exchange, 200, null);
+                    }
+                    default -> {
+                        realms.remove(realm);
+                        send(exchange, 200, null);
+                    }
+                }
+                return;
+            }
+            if ("users".equals(collection)) {
+                var items = users.get(realm);
+                switch (method) {
+                    case "GET" -> send(exchange, 200, new UserSearchResultV1DTO().items(items.values().stream()
+                            .map(AdminServerMock::withoutPassword).toList()));
+                    case "POST", "PUT" -> {
+                        var user = AdminJsonCodec.decode(body, UserV1DTO.class);
+                        items.put(user.getUsername(), user);
+                        send(exchange, "POST".equals(method) ? 201 : 200, null);
+                    }
+                    default -> {
+                        items.remove(id);
+                        send(exchange, 200, null);
+                    }
+                }
+                return;
+            }
+            var items = clients.get(realm);
+            switch (method) {
+                case "GET" -> send(exchange, 200, new ClientSearchResultV1DTO().items(new ArrayList<>(items.values())));
+                case "POST", "PUT" -> {
+                    var client = AdminJsonCodec.decode(body, ClientV1DTO.class);
+                    items.put(client.getClientId(), client);
+                    send(exchange, "POST".equals(method) ? 201 : 200, null);
+                }
+                default -> {
+                    items.remove(id);
+                    send(exchange, 200, null);
+                }
+            }
+        }
+    }
+
+    private void token(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            // path: /realms/{realm}/protocol/openid-connect/token, only the password grant
+            String realm = exchange.getRequestURI().getPath().split("/")[2];
+            Map<String, String> form = new HashMap<>();
+            for (String param : new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).split("&")) {
+                var item = param.split("=", 2);
+                form.put(URLDecoder.decode(item[0], StandardCharsets.UTF_8),
+                        URLDecoder.decode(item.length > 1 ? item[1] : "", StandardCharsets.UTF_8));
+            }
+            var client = clients.getOrDefault(realm, Map.of()).get(form.get("client_id"));
+            var user = users.getOrDefault(realm, Map.of()).get(form.get("username"));
+            boolean valid = client != null
+                    && (Boolean.FALSE.equals(client.getConfidential())
+                            || Objects.equals(client.getClientSecret(), form.get("client_secret")))
+                    && user != null && Boolean.TRUE.equals(user.getEnabled())
+                    && Objects.equals(user.getPassword(), form.get("password"));
+            exchange.sendResponseHeaders(valid ? 200 : 401, -1);
+        }
+    }
+
+    private static UserV1DTO withoutPassword(UserV1DTO user) {
+        var copy = AdminJsonCodec.decode(AdminJsonCodec.encode(user), UserV1DTO.class);
+        copy.setPassword(null);
+        return copy;
+    }
+
+    private static void send(HttpExchange exchange, int status, Object body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] data = AdminJsonCodec.encode(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, data.length);
+        exchange.getResponseBody().write(data);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
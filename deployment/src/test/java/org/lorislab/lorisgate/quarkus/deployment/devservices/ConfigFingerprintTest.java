@@ -0,0 +1,68 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.lorislab.lorisgate.quarkus.deployment.LorisgateBuildTimeConfig;
+
+import io.quarkus.runtime.configuration.DurationConverter;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.quarkus.runtime.configuration.MemorySizeConverter;
+import io.smallrye.config.EnvConfigSource;
+import io.smallrye.config.PropertiesConfigSource;
+import io.smallrye.config.SmallRyeConfigBuilder;
+
+class ConfigFingerprintTest {
+
+    @Test
+    void testDefaults() {
+        assertThat(fingerprint(Map.of(), Map.of())).isEqualTo(fingerprint(Map.of(), Map.of()));
+    }
+
+    @Test
+    void testEnvironmentVariable() {
+        var defaults = fingerprint(Map.of(), Map.of());
+        var env = fingerprint(Map.of(), Map.of("LORISLAB_LORISGATE_DEVSERVICES_PORT", "18080"));
+        assertThat(env).isNotEqualTo(defaults);
+
+        // the same value from the properties and from the environment
+        var properties = fingerprint(Map.of("lorislab.lorisgate.devservices.port", "18080"), Map.of());
+        assertThat(env).isEqualTo(properties);
+    }
+
+    @Test
+    void testNestedValues() {
+        var defaults = fingerprint(Map.of(), Map.of());
+        var realm = fingerprint(Map.of(), Map.of("LORISLAB_LORISGATE_DEVSERVICES_REALM_NAME", "other"));
+        var users = fingerprint(Map.of("lorislab.lorisgate.devservices.realms.test.users.alice.password", "alice",
+                "lorislab.lorisgate.devservices.realms.test.users.alice.roles", "admin"), Map.of());
+        assertThat(realm).isNotEqualTo(defaults);
+        assertThat(users).isNotEqualTo(defaults).isNotEqualTo(realm);
+    }
+
+    @Test
+    void testProfile() {
+        var properties = Map.of("lorislab.lorisgate.devservices.service-name", "default",
+                "%test.lorislab.lorisgate.devservices.service-name", "test");
+        assertThat(fingerprint(properties, Map.of(), "test")).isNotEqualTo(fingerprint(properties, Map.of(), "dev"));
+    }
+
+    private static String fingerprint(Map<String, String> properties, Map<String, String> env) {
+        return fingerprint(properties, env, "test");
+    }
+
+    private static String fingerprint(Map<String, String> properties, Map<String, String> env, String profile) {
+        var config = new SmallRyeConfigBuilder()
+                .withProfile(profile)
+                .withSources(new PropertiesConfigSource(properties, "test", 250))
+                .withSources(new EnvConfigSource(env, 300))
+                .withConverter(Duration.class, 200, new DurationConverter())
+                .withConverter(MemorySize.class, 200, new MemorySizeConverter())
+                .withMapping(LorisgateBuildTimeConfig.class)
+                .build();
+        return ConfigFingerprint.create(config.getConfigMapping(LorisgateBuildTimeConfig.class).devService());
+    }
+}
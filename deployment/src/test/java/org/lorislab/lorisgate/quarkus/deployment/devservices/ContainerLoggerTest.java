@@ -0,0 +1,192 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.containers.output.OutputFrame;
+
+class ContainerLoggerTest {
+
+    @TempDir
+    Path dir;
+
+    private final Logger logger = Logger.getLogger(ContainerLogger.class.getName() + ".test");
+
+    private final LatchHandler handler = new LatchHandler();
+
+    @AfterEach
+    void cleanup() {
+        handler.release.countDown();
+        logger.removeHandler(handler);
+    }
+
+    @Test
+    void testDropPolicy() throws Exception {
+        var container = blocked(config(4, LorisgateDevServicesConfig.LogBufferConfig.OverflowPolicy.DROP, 10, 0));
+        for (int i = 1; i <= 10; i++) {
+            container.accept(frame("line " + i));
+        }
+        handler.release.countDown();
+        container.close();
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(handler.messages).containsExactly(
+                "[test] line 0", "[test] 6 container log lines dropped", "[test] line 1", "[test] line 2",
+                "[test] line 3", "[test] line 4"));
+    }
+
+    @Test
+    void testSamplePolicy() throws Exception {
+        var container = blocked(config(8, LorisgateDevServicesConfig.LogBufferConfig.OverflowPolicy.SAMPLE, 2, 0));
+        // the first half of the buffer accepts every line, then only every second line
+        for (int i = 1; i <= 10; i++) {
+            container.accept(frame("line " + i));
+        }
+        handler.release.countDown();
+        container.close();
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(handler.messages).containsExactly(
+                "[test] line 0", "[test] 3 container log lines dropped", "[test] line 1", "[test] line 2",
+                "[test] line 3", "[test] line 4", "[test] line 5", "[test] line 7", "[test] line 9"));
+    }
+
+    @Test
+    void testTail() throws Exception {
+        logger.addHandler(handler);
+        handler.release.countDown();
+        Path file = dir.resolve("tail.log");
+        var container = ContainerLogger.create("test", false,
+                config(4, LorisgateDevServicesConfig.LogBufferConfig.OverflowPolicy.DROP, 10, 3), file);
+        assertThat(container.getTailFile()).isEqualTo(file);
+        for (int i = 0; i < 5; i++) {
+            container.accept(frame("line " + i + "\n"));
+        }
+        assertThat(container.tail()).containsExactly("line 2", "line 3", "line 4");
+
+        // the close writes the tail file
+        container.close();
+        assertThat(Files.readAllLines(file, StandardCharsets.UTF_8)).containsExactly("line 2", "line 3", "line 4");
+        // the disabled logger does not write the lines to the log
+        assertThat(handler.messages).isEmpty();
+    }
+
+    @Test
+    void testEndClosesLogger() throws Exception {
+        logger.addHandler(handler);
+        handler.release.countDown();
+        Path file = dir.resolve("end.log");
+        var container = ContainerLogger.create("test", true,
+                config(4, LorisgateDevServicesConfig.LogBufferConfig.OverflowPolicy.DROP, 10, 2), file);
+        container.accept(frame("line"));
+        container.accept(new OutputFrame(OutputFrame.OutputType.END, null));
+
+        // the end writes the tail file and stops the writer
+        assertThat(Files.readAllLines(file, StandardCharsets.UTF_8)).containsExactly("line");
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(handler.messages).containsExactly("[test] line"));
+
+        // the lines after the end and the second close are ignored
+        container.close();
+        assertThat(container.tail()).containsExactly("line");
+    }
+
+    @Test
+    void testNoTailFile() {
+        var container = ContainerLogger.create("test", false,
+                config(4, LorisgateDevServicesConfig.LogBufferConfig.OverflowPolicy.DROP, 10, 0), dir.resolve("none.log"));
+        assertThat(container.getTailFile()).isNull();
+        container.close();
+    }
+
+    @Test
+    void testStripLineBreak() {
+        assertThat(ContainerLogger.stripLineBreak("line\r\n")).isEqualTo("line");
+        assertThat(ContainerLogger.stripLineBreak("line\n")).isEqualTo("line");
+        assertThat(ContainerLogger.stripLineBreak("line")).isEqualTo("line");
+        assertThat(ContainerLogger.stripLineBreak("")).isEmpty();
+    }
+
+    /**
+     * Creates the logger and waits until the writer blocks in the log handler with the first line.
+     */
+    private ContainerLogger blocked(LorisgateDevServicesConfig.LogBufferConfig config) throws InterruptedException {
+        logger.addHandler(handler);
+        var container = ContainerLogger.create("test", true, config, null);
+        container.accept(frame("line 0"));
+        assertThat(handler.blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        return container;
+    }
+
+    private static LorisgateDevServicesConfig.LogBufferConfig config(int size,
+            LorisgateDevServicesConfig.LogBufferConfig.OverflowPolicy policy, int sampleRate, int tailSize) {
+        return new LorisgateDevServicesConfig.LogBufferConfig() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public OverflowPolicy overflowPolicy() {
+                return policy;
+            }
+
+            @Override
+            public int sampleRate() {
+                return sampleRate;
+            }
+
+            @Override
+            public int tailSize() {
+                return tailSize;
+            }
+        };
+    }
+
+    private static OutputFrame frame(String line) {
+        return new OutputFrame(OutputFrame.OutputType.STDOUT, line.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Collects the log messages, the first message blocks the writer until the release.
+     */
+    private static class LatchHandler extends Handler {
+
+        final List<String> messages = new CopyOnWriteArrayList<>();
+
+        final CountDownLatch blocked = new CountDownLatch(1);
+
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void publish(LogRecord record) {
+            messages.add(record instanceof ExtLogRecord ext ? ext.getFormattedMessage() : record.getMessage());
+            blocked.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
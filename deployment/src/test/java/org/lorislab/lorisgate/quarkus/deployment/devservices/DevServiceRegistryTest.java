@@ -0,0 +1,67 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.bootstrap.classloading.QuarkusClassLoader;
+import io.quarkus.deployment.builditem.CuratedApplicationShutdownBuildItem;
+import io.quarkus.deployment.builditem.DevServicesResultBuildItem;
+
+class DevServiceRegistryTest {
+
+    @Test
+    void testAcquireWaitsForClosingService() throws Exception {
+        try (var cl = QuarkusClassLoader.builder("registry-test", getClass().getClassLoader(), false).build()) {
+            var shutdown = new CuratedApplicationShutdownBuildItem(cl, true);
+            var first = new Object();
+            var second = new Object();
+
+            var running = new AtomicInteger();
+            var overlap = new AtomicBoolean();
+            var closing = new CountDownLatch(1);
+            var release = new CountDownLatch(1);
+            Supplier<DevServicesResultBuildItem.RunningDevService> starter = () -> {
+                if (running.getAndIncrement() > 0) {
+                    overlap.set(true);
+                }
+                return new DevServicesResultBuildItem.RunningDevService("lorisgate", null, () -> {
+                    closing.countDown();
+                    await(release);
+                    running.decrementAndGet();
+                }, Map.of());
+            };
+
+            assertThat(DevServiceRegistry.acquire(first, "closing", starter, shutdown)).isNotNull();
+
+            // the configuration of the first application changes, the old dev service is closing
+            var change = CompletableFuture.runAsync(() -> DevServiceRegistry.acquire(first, "changed", () -> null, shutdown));
+            assertThat(closing.await(5, TimeUnit.SECONDS)).isTrue();
+
+            var acquire = CompletableFuture.supplyAsync(() -> DevServiceRegistry.acquire(second, "closing", starter, shutdown));
+            Thread.sleep(200);
+            assertThat(acquire).isNotDone();
+
+            release.countDown();
+            change.get(5, TimeUnit.SECONDS);
+            assertThat(acquire.get(5, TimeUnit.SECONDS)).isNotNull();
+            assertThat(overlap).isFalse();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
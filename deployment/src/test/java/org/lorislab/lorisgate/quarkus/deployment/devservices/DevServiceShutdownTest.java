@@ -0,0 +1,93 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.lorislab.lorisgate.quarkus.deployment.LorisgateBuildTimeConfig;
+
+import io.quarkus.runtime.configuration.DurationConverter;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.quarkus.runtime.configuration.MemorySizeConverter;
+import io.smallrye.config.PropertiesConfigSource;
+import io.smallrye.config.SmallRyeConfigBuilder;
+
+class DevServiceShutdownTest {
+
+    @Test
+    void testSkip() throws Exception {
+        var closed = new AtomicBoolean();
+        DevServiceShutdown.create(() -> closed.set(true), "skip", config("skip", "2s")).close();
+        DevServiceShutdown.await();
+        assertThat(closed).isFalse();
+    }
+
+    @Test
+    void testAwaitCompletion() throws Exception {
+        // the pending shutdown takes longer than the grace period
+        var closed = new AtomicBoolean();
+        DevServiceShutdown.create(slow(Duration.ofMillis(500), closed), "slow", config("async", "0s")).close();
+        assertThat(closed).isFalse();
+
+        DevServiceShutdown.await();
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void testGracePeriodPerConfig() throws Exception {
+        var release = new CountDownLatch(1);
+        try {
+            var closed = new AtomicBoolean();
+            DevServiceShutdown.create(slow(Duration.ofMillis(300), closed), "graceful", config("async", "10s")).close();
+            DevServiceShutdown.create(() -> await(release), "hanging", config("async", "100ms")).close();
+
+            long start = System.nanoTime();
+            DevServiceShutdown.awaitExit();
+
+            // the exit waits for the first shutdown and does not wait 10s for the second one
+            assertThat(closed).isTrue();
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        } finally {
+            release.countDown();
+            DevServiceShutdown.await();
+        }
+    }
+
+    private static Closeable slow(Duration duration, AtomicBoolean closed) {
+        return () -> {
+            try {
+                Thread.sleep(duration.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            closed.set(true);
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static LorisgateDevServicesConfig config(String mode, String gracePeriod) {
+        return new SmallRyeConfigBuilder()
+                .withSources(new PropertiesConfigSource(Map.of(
+                        "lorislab.lorisgate.devservices.shutdown.mode", mode,
+                        "lorislab.lorisgate.devservices.shutdown.grace-period", gracePeriod), "test", 250))
+                .withConverter(Duration.class, 200, new DurationConverter())
+                .withConverter(MemorySize.class, 200, new MemorySizeConverter())
+                .withMapping(LorisgateBuildTimeConfig.class)
+                .build()
+                .getConfigMapping(LorisgateBuildTimeConfig.class)
+                .devService();
+    }
+}
@@ -0,0 +1,56 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.lorislab.lorisgate.quarkus.deployment.LorisgateBuildTimeConfig;
+
+import io.quarkus.runtime.configuration.DurationConverter;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.quarkus.runtime.configuration.MemorySizeConverter;
+import io.smallrye.config.PropertiesConfigSource;
+import io.smallrye.config.SmallRyeConfigBuilder;
+
+class ForkNamespaceTest {
+
+    private static final String GRADLE_WORKER = "org.gradle.test.worker";
+
+    @AfterEach
+    void clear() {
+        System.clearProperty(GRADLE_WORKER);
+    }
+
+    @Test
+    void testDisabledByDefault() {
+        System.setProperty(GRADLE_WORKER, "7");
+        assertThat(ForkNamespace.create(config(Map.of())).realm("quarkus")).isEqualTo("quarkus");
+    }
+
+    @Test
+    void testWorkerProperty() {
+        System.setProperty(GRADLE_WORKER, "7");
+        var namespace = ForkNamespace.create(config(Map.of("lorislab.lorisgate.devservices.fork-namespace.enabled", "true")));
+        assertThat(namespace.realm("quarkus")).isEqualTo("quarkus-f7");
+    }
+
+    @Test
+    void testForkId() {
+        var namespace = ForkNamespace.create(config(Map.of("lorislab.lorisgate.devservices.fork-namespace.enabled", "true",
+                "lorislab.lorisgate.devservices.fork-namespace.fork-id", "2")));
+        assertThat(namespace.getSuffix()).isEqualTo("-f2");
+    }
+
+    private static LorisgateDevServicesConfig config(Map<String, String> properties) {
+        return new SmallRyeConfigBuilder()
+                .withSources(new PropertiesConfigSource(properties, "test", 250))
+                .withConverter(Duration.class, 200, new DurationConverter())
+                .withConverter(MemorySize.class, 200, new MemorySizeConverter())
+                .withMapping(LorisgateBuildTimeConfig.class)
+                .build()
+                .getConfigMapping(LorisgateBuildTimeConfig.class).devService();
+    }
+}
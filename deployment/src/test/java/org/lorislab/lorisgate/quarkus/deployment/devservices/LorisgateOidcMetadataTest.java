@@ -0,0 +1,141 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+class LorisgateOidcMetadataTest {
+
+    private static final String REALM = "/realms/quarkus";
+
+    private final AtomicInteger discoveries = new AtomicInteger();
+
+    private HttpServer server;
+
+    private String endpoint;
+
+    private volatile JsonObject jwks;
+
+    @BeforeEach
+    void init() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        endpoint = "http://localhost:" + server.getAddress().getPort();
+        server.createContext(REALM + "/.well-known/openid-configuration", exchange -> {
+            discoveries.incrementAndGet();
+            send(exchange, new JsonObject()
+                    .put("issuer", endpoint + REALM)
+                    .put("token_endpoint", endpoint + REALM + "/protocol/openid-connect/token")
+                    .put("jwks_uri", endpoint + REALM + "/protocol/openid-connect/certs")
+                    .put("end_session_endpoint", "http://other:8080/logout"));
+        });
+        server.createContext(REALM + "/protocol/openid-connect/certs", exchange -> send(exchange, jwks));
+        server.start();
+    }
+
+    @AfterEach
+    void close() {
+        server.stop(0);
+    }
+
+    @Test
+    void testResolve() throws Exception {
+        String publicKey = rotateKey();
+        var metadata = LorisgateOidcMetadata.resolve(endpoint, "quarkus", config(true));
+
+        assertThat(metadata)
+                .containsEntry("quarkus.oidc.discovery-enabled", "false")
+                .containsEntry("quarkus.oidc.token-path", "/protocol/openid-connect/token")
+                .containsEntry("quarkus.oidc.jwks-path", "/protocol/openid-connect/certs")
+                .containsEntry("quarkus.oidc.end-session-path", "http://other:8080/logout")
+                .containsEntry("quarkus.oidc.public-key", publicKey);
+    }
+
+    @Test
+    void testResolvePerStart() throws Exception {
+        // a new container with the same endpoint has a new key
+        String first = rotateKey();
+        assertThat(LorisgateOidcMetadata.resolve(endpoint, "quarkus", config(true)))
+                .containsEntry("quarkus.oidc.public-key", first);
+
+        String second = rotateKey();
+        assertThat(LorisgateOidcMetadata.resolve(endpoint, "quarkus", config(true)))
+                .containsEntry("quarkus.oidc.public-key", second);
+        assertThat(discoveries).hasValue(2);
+    }
+
+    @Test
+    void testNotAvailable() {
+        assertThat(LorisgateOidcMetadata.resolve(endpoint, "missing", config(false))).isEmpty();
+    }
+
+    @Test
+    void testPublicKey() {
+        assertThat(LorisgateOidcMetadata.publicKey(null)).isNull();
+        assertThat(LorisgateOidcMetadata.publicKey(new JsonObject().put("keys", new JsonArray()))).isNull();
+        assertThat(LorisgateOidcMetadata.publicKey(new JsonObject().put("keys",
+                new JsonArray().add(new JsonObject().put("kty", "EC"))))).isNull();
+    }
+
+    private String rotateKey() throws Exception {
+        var generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        var key = (RSAPublicKey) generator.generateKeyPair().getPublic();
+        var encoder = Base64.getUrlEncoder().withoutPadding();
+        jwks = new JsonObject().put("keys", new JsonArray().add(new JsonObject()
+                .put("kty", "RSA")
+                .put("kid", "test")
+                .put("n", encoder.encodeToString(unsigned(key.getModulus())))
+                .put("e", encoder.encodeToString(unsigned(key.getPublicExponent())))));
+        return Base64.getEncoder().encodeToString(key.getEncoded());
+    }
+
+    private static byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes[0] != 0) {
+            return bytes;
+        }
+        byte[] result = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 1, result, 0, result.length);
+        return result;
+    }
+
+    private static void send(HttpExchange exchange, JsonObject body) throws IOException {
+        try (exchange) {
+            byte[] data = body.encode().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, data.length);
+            exchange.getResponseBody().write(data);
+        }
+    }
+
+    private static LorisgateDevServicesConfig.MetadataConfig config(boolean inlineJwks) {
+        return new LorisgateDevServicesConfig.MetadataConfig() {
+            @Override
+            public boolean enabled() {
+                return true;
+            }
+
+            @Override
+            public boolean inlineJwks() {
+                return inlineJwks;
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.lorislab.lorisgate.quarkus.deployment.devservices.LorisgateClient.createDefaultRealm;
+import static org.lorislab.lorisgate.quarkus.deployment.devservices.LorisgateClient.createRealm;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.lorislab.lorisgate.quarkus.deployment.LorisgateBuildTimeConfig;
+
+import io.quarkus.runtime.configuration.DurationConverter;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.quarkus.runtime.configuration.MemorySizeConverter;
+import io.smallrye.config.PropertiesConfigSource;
+import io.smallrye.config.SmallRyeConfigBuilder;
+
+class LorisgateRecorderTest {
+
+    @Test
+    void testDefaultRealm() {
+        var config = config(Map.of(
+                "lorislab.lorisgate.devservices.realm.users.carol.password", "carol-password",
+                "lorislab.lorisgate.devservices.realm.users.carol.roles", "user"));
+        var realm = createDefaultRealm("quarkus", config.realm());
+
+        assertThat(LorisgateRecorder.clients(realm)).containsExactly(Map.entry("quarkus-app", "secret"));
+        assertThat(LorisgateRecorder.users(realm)).containsOnlyKeys("alice", "bob", "carol")
+                .containsEntry("carol", "carol-password")
+                .containsEntry("alice", realm.getUsers().get("alice").getPassword());
+    }
+
+    @Test
+    void testRealm() {
+        var config = config(Map.of(
+                "lorislab.lorisgate.devservices.realm.create-users", "false",
+                "lorislab.lorisgate.devservices.realms.orders.users.dave.password", "dave-password",
+                "lorislab.lorisgate.devservices.realms.orders.users.dave.roles", "user",
+                "lorislab.lorisgate.devservices.realms.orders.clients.orders-app.client-secret", "orders-secret",
+                "lorislab.lorisgate.devservices.realms.orders.clients.orders-app.scopes", "openid",
+                "lorislab.lorisgate.devservices.realms.orders.clients.orders-app.redirect-uris", "*",
+                "lorislab.lorisgate.devservices.realms.orders.clients.orders-public.confidential", "false",
+                "lorislab.lorisgate.devservices.realms.orders.clients.orders-public.scopes", "openid",
+                "lorislab.lorisgate.devservices.realms.orders.clients.orders-public.redirect-uris", "*"));
+
+        assertThat(LorisgateRecorder.users(createDefaultRealm("quarkus", config.realm()))).isEmpty();
+
+        var realm = createRealm("orders", config.realms().get("orders"));
+        assertThat(LorisgateRecorder.clients(realm)).containsExactly(Map.entry("orders-app", "orders-secret"));
+        assertThat(LorisgateRecorder.users(realm)).containsExactly(Map.entry("dave", "dave-password"));
+    }
+
+    private static LorisgateDevServicesConfig config(Map<String, String> properties) {
+        return new SmallRyeConfigBuilder()
+                .withSources(new PropertiesConfigSource(properties, "test", 250))
+                .withConverter(Duration.class, 200, new DurationConverter())
+                .withConverter(MemorySize.class, 200, new MemorySizeConverter())
+                .withMapping(LorisgateBuildTimeConfig.class)
+                .build()
+                .getConfigMapping(LorisgateBuildTimeConfig.class)
+                .devService();
+    }
+}
@@ -0,0 +1,166 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyFactory;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.OptionalInt;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+class LorisgateReplayServerTest {
+
+    private static final String RECORDED_URL = "http://localhost:32768/realms/quarkus";
+
+    @TempDir
+    Path dir;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    private LorisgateReplayServer server;
+
+    @BeforeEach
+    void init() throws Exception {
+        var generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        var pair = generator.generateKeyPair();
+        var encoder = Base64.getEncoder();
+        String publicKey = encoder.encodeToString(pair.getPublic().getEncoded());
+
+        var claims = new JsonObject()
+                .put("iss", RECORDED_URL)
+                .put("sub", "alice")
+                .put("iat", 1000L)
+                .put("exp", 1300L)
+                .put("jti", "recorded");
+        var recording = new JsonObject()
+                .put("realm", "quarkus")
+                .put("url", RECORDED_URL)
+                .put("key", new JsonObject()
+                        .put("kid", "test-key")
+                        .put("private", encoder.encodeToString(pair.getPrivate().getEncoded()))
+                        .put("public", publicKey))
+                .put("discovery", new JsonObject()
+                        .put("issuer", RECORDED_URL)
+                        .put("jwks_uri", RECORDED_URL + "/protocol/openid-connect/certs")
+                        .put("token_endpoint", RECORDED_URL + "/protocol/openid-connect/token"))
+                .put("exchanges", new JsonArray().add(new JsonObject()
+                        .put("request", new JsonObject()
+                                .put("grant_type", "password")
+                                .put("client_id", "quarkus-app")
+                                .put("client_secret", "secret")
+                                .put("username", "alice")
+                                .put("password", "alice"))
+                        .put("response", new JsonObject()
+                                .put("token_type", "Bearer")
+                                .put("expires_in", 300)
+                                .put("access_token", new JsonObject()
+                                        .put("header", new JsonObject().put("typ", "JWT"))
+                                        .put("claims", claims)))));
+        Files.writeString(dir.resolve("quarkus.json"), recording.encode());
+
+        server = LorisgateReplayServer.start(dir, OptionalInt.empty(), ForkNamespace.NONE);
+    }
+
+    @AfterEach
+    void close() {
+        server.close();
+    }
+
+    @Test
+    void testDiscovery() throws Exception {
+        var discovery = get("/realms/quarkus/.well-known/openid-configuration");
+
+        assertThat(discovery.getString("issuer")).isEqualTo(server.getEndpoint() + "/realms/quarkus");
+        assertThat(discovery.getString("token_endpoint"))
+                .isEqualTo(server.getEndpoint() + "/realms/quarkus/protocol/openid-connect/token");
+    }
+
+    @Test
+    void testToken() throws Exception {
+        long now = System.currentTimeMillis() / 1000;
+        var response = token("grant_type=password&client_id=quarkus-app&client_secret=secret&username=alice&password=alice");
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        var body = new JsonObject(response.body());
+        assertThat(body.getInteger("expires_in")).isEqualTo(300);
+
+        String[] parts = body.getString("access_token").split("\\.");
+        var decoder = Base64.getUrlDecoder();
+        var header = new JsonObject(new String(decoder.decode(parts[0]), StandardCharsets.UTF_8));
+        var claims = new JsonObject(new String(decoder.decode(parts[1]), StandardCharsets.UTF_8));
+
+        assertThat(header.getString("kid")).isEqualTo("test-key");
+        assertThat(header.getString("alg")).isEqualTo("RS256");
+        assertThat(claims.getString("iss")).isEqualTo(server.getEndpoint() + "/realms/quarkus");
+        assertThat(claims.getLong("iat")).isBetween(now, now + 5);
+        assertThat(claims.getLong("exp") - claims.getLong("iat")).isEqualTo(300);
+        assertThat(claims.getString("jti")).isNotEqualTo("recorded");
+
+        // the signature is verified with the served JWKS
+        var jwk = get("/realms/quarkus/protocol/openid-connect/certs").getJsonArray("keys").getJsonObject(0);
+        var publicKey = KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                new BigInteger(1, decoder.decode(jwk.getString("n"))),
+                new BigInteger(1, decoder.decode(jwk.getString("e")))));
+        var signature = Signature.getInstance("SHA256withRSA");
+        signature.initVerify(publicKey);
+        signature.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+        assertThat(signature.verify(decoder.decode(parts[2]))).isTrue();
+    }
+
+    @Test
+    void testInvalidCredentials() throws Exception {
+        var response = token("grant_type=password&client_id=quarkus-app&client_secret=wrong&username=alice&password=alice");
+        assertThat(response.statusCode()).isEqualTo(401);
+
+        response = token("grant_type=password&client_id=quarkus-app&client_secret=secret&username=bob&password=bob");
+        assertThat(response.statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void testAdminApi() throws Exception {
+        var response = http.send(HttpRequest.newBuilder(URI.create(server.getEndpoint() + "/admin/realms/quarkus"))
+                .GET().build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(501);
+        assertThat(new JsonObject(response.body()).getString("error")).isEqualTo("not_implemented");
+    }
+
+    @Test
+    void testMissingRecordings() {
+        assertThatThrownBy(() -> LorisgateReplayServer.start(dir.resolve("missing"), OptionalInt.empty(),
+                ForkNamespace.NONE)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private JsonObject get(String path) throws Exception {
+        var response = http.send(HttpRequest.newBuilder(URI.create(server.getEndpoint() + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return new JsonObject(response.body());
+    }
+
+    private HttpResponse<String> token(String form) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create(server.getEndpoint()
+                + "/realms/quarkus/protocol/openid-connect/token"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
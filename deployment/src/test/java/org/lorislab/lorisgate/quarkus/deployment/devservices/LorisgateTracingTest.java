@@ -0,0 +1,74 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+
+class LorisgateTracingTest {
+
+    @Test
+    void testPhases() {
+        var tracing = LorisgateTracing.create(true);
+
+        tracing.span("lorisgate dev service start", Map.of(), () -> {
+            tracing.span("lorisgate container start", Map.of(LorisgateTracing.IMAGE, "lorisgate:test"), () -> {
+            });
+            assertThatThrownBy(() -> tracing.span("lorisgate realm provisioning",
+                    Map.of(LorisgateTracing.REALM, "quarkus"), () -> {
+                        throw new IllegalStateException("failed");
+                    })).isInstanceOf(IllegalStateException.class);
+        });
+
+        var trace = new JsonObject(tracing.encode());
+        assertThat(trace.getString("traceparent")).matches("00-[0-9a-f]{32}-[0-9a-f]{16}-01");
+
+        var spans = trace.getJsonArray("spans");
+        assertThat(spans).hasSize(3);
+        var root = spans.getJsonObject(0);
+        assertThat(root.getString("name")).isEqualTo("lorisgate dev service start");
+        assertThat(root.getInteger("parent")).isEqualTo(-1);
+
+        var container = spans.getJsonObject(1);
+        assertThat(container.getInteger("parent")).isZero();
+        assertThat(container.getJsonObject("attributes").getString(LorisgateTracing.IMAGE)).isEqualTo("lorisgate:test");
+        assertThat(container.containsKey("error")).isFalse();
+
+        var realm = spans.getJsonObject(2);
+        assertThat(realm.getInteger("parent")).isZero();
+        assertThat(realm.getJsonObject("attributes").getString(LorisgateTracing.REALM)).isEqualTo("quarkus");
+        assertThat(realm.getString("error")).contains("failed");
+
+        // the children are inside of the parent
+        assertThat(container.getLong("start")).isGreaterThanOrEqualTo(root.getLong("start"));
+        assertThat(realm.getLong("end")).isLessThanOrEqualTo(root.getLong("end"));
+        assertThat(container.getLong("end")).isLessThanOrEqualTo(realm.getLong("start"));
+    }
+
+    @Test
+    void testAdminRequests() throws Exception {
+        var tracing = LorisgateTracing.create(true);
+        try (var server = new AdminServerMock();
+                var client = LorisgateClient.create(server.getEndpoint(), tracing)) {
+            client.createIfNotExistsRealm("orders",
+                    "{\"name\":\"orders\",\"enabled\":true}".getBytes(StandardCharsets.UTF_8));
+
+            assertThat(server.traceparents).isNotEmpty()
+                    .allSatisfy(value -> assertThat(value).isEqualTo(tracing.headers().get("traceparent")));
+        }
+    }
+
+    @Test
+    void testDisabled() {
+        var tracing = LorisgateTracing.create(false);
+        assertThat(tracing.span("lorisgate warm-up", Map.of(), () -> "done")).isEqualTo("done");
+        assertThat(tracing.enabled()).isFalse();
+        assertThat(tracing.headers()).isEmpty();
+        assertThat(tracing.encode()).isNull();
+    }
+}
@@ -0,0 +1,124 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lorislab.lorisgate.quarkus.deployment.LorisgateBuildTimeConfig;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.quarkus.runtime.configuration.DurationConverter;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.quarkus.runtime.configuration.MemorySizeConverter;
+import io.smallrye.config.PropertiesConfigSource;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import io.vertx.core.json.JsonObject;
+
+class LorisgateWarmupTest {
+
+    private final Set<String> grants = ConcurrentHashMap.newKeySet();
+
+    private HttpServer server;
+
+    private String endpoint;
+
+    @BeforeEach
+    void init() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        endpoint = "http://localhost:" + server.getAddress().getPort();
+        server.createContext("/realms", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void close() {
+        server.stop(0);
+    }
+
+    @Test
+    void testConfiguredRealms() {
+        var config = config(Map.of(
+                "lorislab.lorisgate.devservices.warm-up.enabled", "true",
+                "lorislab.lorisgate.devservices.warm-up.requests", "100",
+                "lorislab.lorisgate.devservices.warm-up.rounds", "1",
+                "lorislab.lorisgate.devservices.realms.orders.users.dave.password", "dave-password",
+                "lorislab.lorisgate.devservices.realms.orders.users.dave.roles", "user",
+                "lorislab.lorisgate.devservices.realms.orders.clients.orders-app.client-secret", "orders-secret",
+                "lorislab.lorisgate.devservices.realms.orders.clients.orders-app.scopes", "openid",
+                "lorislab.lorisgate.devservices.realms.orders.clients.orders-app.redirect-uris", "*"));
+
+        try (var warmup = LorisgateWarmup.create(endpoint)) {
+            warmup.run(config);
+        }
+
+        assertThat(grants).containsExactlyInAnyOrder(
+                "quarkus client_credentials quarkus-app:secret",
+                "quarkus password quarkus-app:secret alice:alice",
+                "quarkus password quarkus-app:secret bob:bob",
+                "orders client_credentials orders-app:orders-secret",
+                "orders password orders-app:orders-secret dave:dave-password");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            // path: /realms/{realm}/...
+            String path = exchange.getRequestURI().getPath();
+            String realm = path.split("/")[2];
+            String realmUrl = endpoint + "/realms/" + realm;
+            if (path.endsWith("/.well-known/openid-configuration")) {
+                send(exchange, new JsonObject()
+                        .put("token_endpoint", realmUrl + "/protocol/openid-connect/token")
+                        .put("jwks_uri", realmUrl + "/protocol/openid-connect/certs"));
+                return;
+            }
+            if (path.endsWith("/token")) {
+                var form = form(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+                String user = form.get("username") == null ? "" : " " + form.get("username") + ":" + form.get("password");
+                grants.add(realm + " " + form.get("grant_type") + " " + form.get("client_id") + ":"
+                        + form.get("client_secret") + user);
+            }
+            send(exchange, new JsonObject());
+        }
+    }
+
+    private static Map<String, String> form(String body) {
+        Map<String, String> result = new HashMap<>();
+        for (String param : body.split("&")) {
+            var item = param.split("=", 2);
+            result.put(URLDecoder.decode(item[0], StandardCharsets.UTF_8),
+                    URLDecoder.decode(item.length > 1 ? item[1] : "", StandardCharsets.UTF_8));
+        }
+        return result;
+    }
+
+    private static void send(HttpExchange exchange, JsonObject body) throws IOException {
+        byte[] data = body.encode().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, data.length);
+        exchange.getResponseBody().write(data);
+    }
+
+    private static LorisgateDevServicesConfig config(Map<String, String> properties) {
+        return new SmallRyeConfigBuilder()
+                .withSources(new PropertiesConfigSource(properties, "test", 250))
+                .withConverter(Duration.class, 200, new DurationConverter())
+                .withConverter(MemorySize.class, 200, new MemorySizeConverter())
+                .withMapping(LorisgateBuildTimeConfig.class)
+                .build()
+                .getConfigMapping(LorisgateBuildTimeConfig.class)
+                .devService();
+    }
+}
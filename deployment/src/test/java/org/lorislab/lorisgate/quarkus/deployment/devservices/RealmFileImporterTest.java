@@ -0,0 +1,75 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RealmFileImporterTest {
+
+    @TempDir
+    Path dir;
+
+    private AdminServerMock server;
+
+    private LorisgateClient client;
+
+    @BeforeEach
+    void init() throws Exception {
+        server = new AdminServerMock();
+        client = LorisgateClient.create(server.getEndpoint());
+    }
+
+    @AfterEach
+    void close() {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    void testAttributesAfterUsers() throws Exception {
+        Path file = dir.resolve("realm.json");
+        Files.writeString(file, """
+                {
+                  "name": "test",
+                  "users": { "alice": { "password": "alice", "enabled": true } },
+                  "displayName": "Test realm",
+                  "enabled": false,
+                  "clients": { "app": { "confidential": true } },
+                  "frontendUrl": "http://localhost:8080"
+                }
+                """);
+        RealmFileImporter.create(client, 10, ForkNamespace.NONE).importFile(file);
+
+        var realm = server.realms.get("test");
+        assertThat(realm.getDisplayName()).isEqualTo("Test realm");
+        assertThat(realm.getEnabled()).isFalse();
+        assertThat(realm.getFrontendUrl()).isEqualTo("http://localhost:8080");
+        assertThat(server.users.get("test")).containsOnlyKeys("alice");
+        assertThat(server.clients.get("test")).containsOnlyKeys("app");
+        assertThat(server.requests).containsExactly("POST /admin/realms", "POST /admin/realms/test/users",
+                "POST /admin/realms/test/clients", "PUT /admin/realms/test");
+    }
+
+    @Test
+    void testAttributesBeforeUsers() throws Exception {
+        Path file = dir.resolve("realm.yaml");
+        Files.writeString(file, """
+                name: test
+                displayName: Test realm
+                users:
+                  alice:
+                    password: alice
+                """);
+        RealmFileImporter.create(client, 10, ForkNamespace.NONE).importFile(file);
+
+        assertThat(server.realms.get("test").getDisplayName()).isEqualTo("Test realm");
+        // no update of the realm for the attributes before the users
+        assertThat(server.requests).containsExactly("POST /admin/realms", "POST /admin/realms/test/users");
+    }
+}
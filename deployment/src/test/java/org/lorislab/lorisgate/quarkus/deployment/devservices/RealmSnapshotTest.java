@@ -0,0 +1,119 @@
+package org.lorislab.lorisgate.quarkus.deployment.devservices;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lorislab.lorisgate.quarkus.client.RealmSnapshot;
+
+import gen.org.lorislab.lorisgate.client.admin.v1.model.ClientV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.RealmV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.UserV1DTO;
+
+class RealmSnapshotTest {
+
+    private AdminServerMock server;
+
+    private LorisgateClient client;
+
+    @BeforeEach
+    void init() throws Exception {
+        server = new AdminServerMock();
+        client = LorisgateClient.create(server.getEndpoint());
+        client.createRealm(realm());
+        server.requests.clear();
+    }
+
+    @AfterEach
+    void close() {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    void testRestoreChanges() {
+        var snapshot = RealmSnapshot.of(realm());
+
+        client.deleteUser("test", "bob");
+        client.createUser("test", new UserV1DTO().username("eve").password("eve").enabled(true));
+        client.updateClient("test", new ClientV1DTO().clientId("app").confidential(false));
+
+        snapshot.restore(client);
+
+        assertThat(server.users.get("test")).containsOnlyKeys("alice", "bob");
+        assertThat(server.users.get("test").get("bob").getPassword()).isEqualTo("bob");
+        assertThat(server.clients.get("test").get("app").getConfidential()).isTrue();
+    }
+
+    @Test
+    void testRestorePassword() {
+        var snapshot = RealmSnapshot.of(realm());
+
+        client.updateUser("test", new UserV1DTO().username("alice").password("changed").enabled(true)
+                .roles(Set.of("admin")));
+        snapshot.restore(client);
+
+        assertThat(server.users.get("test").get("alice").getPassword()).isEqualTo("alice");
+    }
+
+    @Test
+    void testCapturedWithPasswords() {
+        var snapshot = RealmSnapshot.capture(client, "test");
+        client.updateUser("test", new UserV1DTO().username("alice").password("changed").enabled(true)
+                .roles(Set.of("admin")));
+
+        // the server does not return the passwords, the captured user is not updated
+        server.requests.clear();
+        snapshot.restore(client);
+        assertThat(server.requests).isEmpty();
+        assertThat(server.users.get("test").get("alice").getPassword()).isEqualTo("changed");
+
+        // the passwords of the provisioning realm, only the changed password is set again
+        snapshot.withPasswords(realm()).restore(client);
+        assertThat(server.requests).containsExactly("PUT /admin/realms/test/users/alice");
+        assertThat(server.users.get("test").get("alice").getPassword()).isEqualTo("alice");
+        assertThat(server.users.get("test").get("bob").getPassword()).isEqualTo("bob");
+    }
+
+    @Test
+    void testUnchangedPasswords() {
+        var snapshot = RealmSnapshot.of(realm());
+        server.requests.clear();
+
+        assertThat(snapshot.restore(client)).isZero();
+        assertThat(server.requests).isEmpty();
+    }
+
+    @Test
+    void testPasswordWithoutGrantClient() {
+        client.deleteClient("test", "app");
+        var snapshot = RealmSnapshot.of(realm().clients(Map.of()));
+        server.requests.clear();
+
+        // the password can not be checked without a client, the users with a password are updated
+        snapshot.restore(client);
+        assertThat(server.requests).containsExactlyInAnyOrder("PUT /admin/realms/test/users/alice",
+                "PUT /admin/realms/test/users/bob");
+    }
+
+    @Test
+    void testNoChanges() {
+        var snapshot = RealmSnapshot.capture(client, "test");
+        server.requests.clear();
+
+        assertThat(snapshot.restore(client)).isZero();
+        assertThat(server.requests).isEmpty();
+    }
+
+    private static RealmV1DTO realm() {
+        return new RealmV1DTO().name("test").enabled(true)
+                .users(Map.of(
+                        "alice", new UserV1DTO().username("alice").password("alice").enabled(true).roles(Set.of("admin")),
+                        "bob", new UserV1DTO().username("bob").password("bob").enabled(true)))
+                .clients(Map.of("app", new ClientV1DTO().clientId("app").confidential(true).clientSecret("secret")));
+    }
+}
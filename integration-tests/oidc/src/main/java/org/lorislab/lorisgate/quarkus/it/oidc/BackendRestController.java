@@ -9,6 +9,7 @@ import org.eclipse.microprofile.jwt.JsonWebToken;
 import org.jose4j.jws.JsonWebSignature;
 import org.jose4j.jwt.JwtClaims;
 import org.jose4j.jwx.JsonWebStructure;
+import org.lorislab.lorisgate.quarkus.runtime.LorisgateTokenValueCache;
 
 import gen.org.lorislab.lorisgate.quarkus.it.oidc.rs.BackendApiService;
 import gen.org.lorislab.lorisgate.quarkus.it.oidc.rs.model.TokenDTO;
@@ -20,6 +21,9 @@ public class BackendRestController implements BackendApiService {
     @Inject
     JsonWebToken jwt;
 
+    @Inject
+    LorisgateTokenValueCache valueCache;
+
     @Override
     public Response testOidcService() {
         var claims = parseClaims(jwt.getRawToken());
@@ -27,6 +31,11 @@ public class BackendRestController implements BackendApiService {
     }
 
     protected JwtClaims parseClaims(String token) {
+        // the token is already verified, the cache skips the parsing of the repeated tokens
+        return valueCache.get(token, JwtClaims.class, this::parse, BackendRestController::expirationTime);
+    }
+
+    private JwtClaims parse(String token) {
         try {
             var jws = (JsonWebSignature) JsonWebStructure.fromCompactSerialization(token);
             return JwtClaims.parse(jws.getUnverifiedPayload());
@@ -35,6 +44,15 @@ public class BackendRestController implements BackendApiService {
         }
     }
 
+    private static long expirationTime(JwtClaims claims) {
+        try {
+            var exp = claims.getExpirationTime();
+            return exp == null ? 0 : exp.getValue();
+        } catch (Exception ex) {
+            throw new ClaimsException(ex);
+        }
+    }
+
     public static class ClaimsException extends RuntimeException {
 
         public ClaimsException(Throwable t) {
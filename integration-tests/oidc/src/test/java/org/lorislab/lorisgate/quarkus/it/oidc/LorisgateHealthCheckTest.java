@@ -0,0 +1,28 @@
+package org.lorislab.lorisgate.quarkus.it.oidc;
+
+import static io.restassured.RestAssured.given;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.hasItem;
+
+import java.time.Duration;
+
+import jakarta.ws.rs.core.Response;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+
+@QuarkusTest
+class LorisgateHealthCheckTest {
+
+    @Test
+    void testReadiness() {
+        // the first background probe runs after the start of the application
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> given()
+                .when()
+                .get("/q/health/ready")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("checks.name", hasItem("Lorisgate server health check")));
+    }
+}
@@ -0,0 +1,78 @@
+package org.lorislab.lorisgate.quarkus.it.oidc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.lorislab.lorisgate.quarkus.client.LorisgateAdminClient;
+import org.lorislab.lorisgate.quarkus.client.RealmSnapshot;
+import org.lorislab.lorisgate.quarkus.runtime.LorisgateServerConfig;
+
+import gen.org.lorislab.lorisgate.client.admin.v1.model.ClientV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.RealmV1DTO;
+import gen.org.lorislab.lorisgate.client.admin.v1.model.UserV1DTO;
+import io.quarkus.test.junit.QuarkusTest;
+
+@QuarkusTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class RealmSnapshotTest {
+
+    private static final String REALM = "test";
+
+    private static final ClientV1DTO CLIENT = new ClientV1DTO().clientId("test-app").clientSecret("secret");
+
+    private static LorisgateAdminClient client;
+
+    private static RealmSnapshot snapshot;
+
+    @BeforeAll
+    static void init() {
+        client = LorisgateAdminClient.create(
+                ConfigProvider.getConfig().getValue(LorisgateServerConfig.ENDPOINT, String.class));
+        // the configured password and secret, the server does not return them
+        snapshot = RealmSnapshot.capture(client, REALM)
+                .withPasswords(new RealmV1DTO().name(REALM)
+                        .users(Map.of("admin", new UserV1DTO().username("admin").password("admin")))
+                        .clients(Map.of(CLIENT.getClientId(), CLIENT)));
+    }
+
+    @AfterEach
+    void restore() {
+        snapshot.restore(client);
+    }
+
+    @AfterAll
+    static void close() {
+        client.close();
+    }
+
+    @Test
+    @Order(1)
+    void testChangeRealm() {
+        assertThat(snapshot.restore(client)).isZero();
+
+        client.createUser(REALM, new UserV1DTO().username("eve").password("eve").enabled(true));
+        client.updateUser(REALM, new UserV1DTO().username("admin").password("changed").enabled(true)
+                .name("Admin").email("admin@localhost").emailVerified(true).roles(Set.of("admin")));
+
+        assertThat(client.getUsers(REALM)).extracting(UserV1DTO::getUsername).contains("eve");
+        assertThat(client.checkPassword(REALM, CLIENT, "admin", "changed")).isTrue();
+    }
+
+    @Test
+    @Order(2)
+    void testRestoredRealm() {
+        assertThat(client.getUsers(REALM)).extracting(UserV1DTO::getUsername).containsExactly("admin");
+        assertThat(client.checkPassword(REALM, CLIENT, "admin", "admin")).isTrue();
+        assertThat(snapshot.restore(client)).isZero();
+    }
+}
@@ -0,0 +1,152 @@
+package org.lorislab.lorisgate.quarkus.it.oidc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Startup-time regression gate of the dev service. The dev service appends the measured phases of every start to
+ * {@code target/lorisgate-devservices/startup-times.jsonl}: the {@code cold} start with the container readiness and
+ * the realm provisioning, the {@code warm} start of a restarted application which reuses the running dev service.
+ * The medians of the last runs are compared with the checked-in baseline {@code startup-baseline.json}. A measured
+ * phase without a baseline value and a baseline phase without samples fail the gate.
+ * <p>
+ * Run with {@code mvn verify -Pstartup-gate}, the repeated runs without {@code clean} collect the samples. The profile
+ * sets {@code lorisgate.startup-gate.record=true}, the dev service does not record the startup times without it.
+ * System properties:
+ * <ul>
+ * <li>{@code lorisgate.startup-gate.runs} - number of the last runs of the medians, default 5</li>
+ * <li>{@code lorisgate.startup-gate.update-baseline} - write the measured medians to the baseline file</li>
+ * </ul>
+ */
+final class StartupTimeGate {
+
+    static final String TAG = "startup-gate";
+
+    private static final String PREFIX = "lorisgate.startup-gate.";
+
+    private static final Path TIMES = Path.of("target/lorisgate-devservices/startup-times.jsonl");
+
+    private static final Path BASELINE = Path.of("src/test/resources/startup-baseline.json");
+
+    private static final Path REPORT = Path.of("target/startup-report.json");
+
+    private static final String MODE = "mode";
+
+    private static final String TIMESTAMP = "timestamp";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private StartupTimeGate() {
+    }
+
+    /**
+     * Compare the measured startup times with the baseline.
+     *
+     * @throws IOException if the startup times or the baseline could not be read.
+     */
+    static void check() throws IOException {
+        assertThat(TIMES).as("Lorisgate dev service startup times").exists();
+        int runs = Integer.getInteger(PREFIX + "runs", 5);
+        var samples = samples(runs);
+
+        var baseline = (ObjectNode) MAPPER.readTree(BASELINE.toFile());
+        double tolerance = baseline.path("tolerance").asDouble(0.25);
+        long slack = baseline.path("slack-ms").asLong(250);
+
+        var report = MAPPER.createObjectNode();
+        report.put(TIMESTAMP, Instant.now().toString());
+        report.put("runs", runs);
+        report.put("tolerance", tolerance);
+        report.put("slack-ms", slack);
+
+        List<String> regressions = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        var phases = report.putObject("phases");
+        for (var entry : samples.entrySet()) {
+            String[] key = entry.getKey().split("/");
+            long median = median(entry.getValue());
+            long expected = baseline.path(key[0]).path(key[1]).asLong(-1);
+            long limit = expected < 0 ? -1 : (long) (expected * (1 + tolerance)) + slack;
+
+            var phase = phases.withObjectProperty(key[0]).putObject(key[1]);
+            phase.put("median", median);
+            phase.putPOJO("samples", entry.getValue());
+            phase.put("baseline", expected);
+            phase.put("limit", limit);
+            boolean regression = limit >= 0 && median > limit;
+            phase.put("regression", regression);
+            if (expected < 0) {
+                missing.add(entry.getKey() + " has no baseline");
+            } else if (regression) {
+                regressions.add(entry.getKey() + " median " + median + "ms > limit " + limit + "ms");
+            }
+        }
+        for (var mode : baseline.properties()) {
+            if (mode.getValue().isObject()) {
+                mode.getValue().fieldNames().forEachRemaining(name -> {
+                    if (!samples.containsKey(mode.getKey() + "/" + name)) {
+                        missing.add(mode.getKey() + "/" + name + " has no samples");
+                    }
+                });
+            }
+        }
+        report.putPOJO("missing", missing);
+        report.put("passed", regressions.isEmpty() && missing.isEmpty());
+
+        Files.createDirectories(REPORT.getParent());
+        MAPPER.writeValue(REPORT.toFile(), report);
+
+        if (Boolean.getBoolean(PREFIX + "update-baseline")) {
+            for (var entry : samples.entrySet()) {
+                String[] key = entry.getKey().split("/");
+                baseline.withObjectProperty(key[0]).put(key[1], median(entry.getValue()));
+            }
+            MAPPER.writeValue(BASELINE.toFile(), baseline);
+            return;
+        }
+
+        assertThat(missing).as("Dev service startup phases, see " + REPORT.toAbsolutePath()).isEmpty();
+        assertThat(regressions).as("Dev service startup regression, see " + REPORT.toAbsolutePath()).isEmpty();
+    }
+
+    /**
+     * Gets the samples of the last runs by {@code mode/phase}.
+     */
+    private static Map<String, List<Long>> samples(int runs) throws IOException {
+        Map<String, List<Long>> result = new TreeMap<>();
+        for (String line : Files.readAllLines(TIMES)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node = MAPPER.readTree(line);
+            String mode = node.path(MODE).asText();
+            for (var field : node.properties()) {
+                if (!MODE.equals(field.getKey()) && !TIMESTAMP.equals(field.getKey())) {
+                    result.computeIfAbsent(mode + "/" + field.getKey(), k -> new ArrayList<>())
+                            .add(field.getValue().asLong());
+                }
+            }
+        }
+        result.replaceAll((k, v) -> v.subList(Math.max(0, v.size() - runs), v.size()));
+        return result;
+    }
+
+    private static long median(List<Long> values) {
+        var sorted = values.stream().sorted().toList();
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 0 ? (sorted.get(middle - 1) + sorted.get(middle)) / 2 : sorted.get(middle);
+    }
+}
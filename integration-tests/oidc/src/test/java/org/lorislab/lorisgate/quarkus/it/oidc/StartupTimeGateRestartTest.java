@@ -0,0 +1,26 @@
+package org.lorislab.lorisgate.quarkus.it.oidc;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+
+/**
+ * Startup-time gate of the application restart, the test profile restarts the application with the unchanged dev
+ * service configuration. See {@link StartupTimeGate}.
+ */
+@QuarkusTest
+@Tag(StartupTimeGate.TAG)
+@TestProfile(StartupTimeGateRestartTest.RestartProfile.class)
+class StartupTimeGateRestartTest {
+
+    @Test
+    void testStartupTime() throws Exception {
+        StartupTimeGate.check();
+    }
+
+    public static class RestartProfile implements QuarkusTestProfile {
+    }
+}
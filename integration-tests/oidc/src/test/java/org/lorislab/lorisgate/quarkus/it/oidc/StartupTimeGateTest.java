@@ -0,0 +1,19 @@
+package org.lorislab.lorisgate.quarkus.it.oidc;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+
+/**
+ * Startup-time gate of the cold dev service start, see {@link StartupTimeGate}.
+ */
+@QuarkusTest
+@Tag(StartupTimeGate.TAG)
+class StartupTimeGateTest {
+
+    @Test
+    void testStartupTime() throws Exception {
+        StartupTimeGate.check();
+    }
+}
@@ -0,0 +1,43 @@
+package org.lorislab.lorisgate.quarkus.runtime;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Retained log tail of the Lorisgate dev service container. The dev service writes the last container log lines
+ * into the {@code lorislab.lorisgate.log-tail-file}, the tests read the tail with this bean.
+ */
+@ApplicationScoped
+public class LorisgateContainerLogs {
+
+    @Inject
+    LorisgateServerConfig config;
+
+    /**
+     * Gets the last container log lines.
+     *
+     * @return the last container log lines, oldest first. The list is empty if the log tail is not enabled.
+     */
+    public List<String> tail() {
+        var file = config.logTailFile();
+        if (file.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return Files.readAllLines(Path.of(file.get()), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException ex) {
+            // no log line written yet
+            return List.of();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read the Lorisgate container log tail " + file.get(), ex);
+        }
+    }
+}
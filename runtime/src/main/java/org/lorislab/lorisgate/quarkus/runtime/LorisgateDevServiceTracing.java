@@ -0,0 +1,84 @@
+package org.lorislab.lorisgate.quarkus.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * OpenTelemetry spans of the dev service start. The build has no OpenTelemetry SDK, the dev service records
+ * the start, container start, realm provisioning, realm import and warm-up phases into the
+ * {@code lorislab.lorisgate.dev-service-trace} property and this bean exports them at the application startup.
+ * The spans are children of the remote trace context which is also propagated to the admin requests
+ * of the dev service.
+ */
+@ApplicationScoped
+public class LorisgateDevServiceTracing {
+
+    private static final String INSTRUMENTATION_NAME = "org.lorislab.lorisgate.quarkus";
+
+    private static final TextMapGetter<Map<String, String>> GETTER = new TextMapGetter<>() {
+        @Override
+        public Iterable<String> keys(Map<String, String> carrier) {
+            return carrier.keySet();
+        }
+
+        @Override
+        public String get(Map<String, String> carrier, String key) {
+            return carrier == null ? null : carrier.get(key);
+        }
+    };
+
+    @Inject
+    OpenTelemetry openTelemetry;
+
+    @Inject
+    LorisgateServerConfig config;
+
+    void onStart(@Observes StartupEvent event) {
+        config.devServiceTrace().ifPresent(this::export);
+    }
+
+    /**
+     * Exports the recorded phases of the dev service start.
+     *
+     * @param value the encoded phases.
+     */
+    public void export(String value) {
+        var trace = new JsonObject(value);
+        Context parent = W3CTraceContextPropagator.getInstance().extract(Context.root(),
+                Map.of("traceparent", trace.getString("traceparent")), GETTER);
+
+        var tracer = openTelemetry.getTracer(INSTRUMENTATION_NAME);
+        List<Span> spans = new ArrayList<>();
+        for (Object item : trace.getJsonArray("spans")) {
+            var phase = (JsonObject) item;
+            // the parent is recorded before the children
+            int index = phase.getInteger("parent");
+            var builder = tracer.spanBuilder(phase.getString("name"))
+                    .setParent(index < 0 ? parent : parent.with(spans.get(index)))
+                    .setStartTimestamp(phase.getLong("start"), TimeUnit.NANOSECONDS);
+            phase.getJsonObject("attributes").forEach(e -> builder.setAttribute(e.getKey(), (String) e.getValue()));
+
+            var span = builder.startSpan();
+            if (phase.containsKey("error")) {
+                span.setStatus(StatusCode.ERROR, phase.getString("error"));
+            }
+            span.end(phase.getLong("end"), TimeUnit.NANOSECONDS);
+            spans.add(span);
+        }
+    }
+}
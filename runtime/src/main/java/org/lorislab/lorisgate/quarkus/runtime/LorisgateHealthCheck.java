@@ -0,0 +1,39 @@
+package org.lorislab.lorisgate.quarkus.runtime;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Readiness health check of the lorisgate server. The check returns the cached result of the background probe,
+ * the probe requests do not call the server.
+ */
+@Readiness
+@ApplicationScoped
+public class LorisgateHealthCheck implements HealthCheck {
+
+    @Inject
+    LorisgateHealthProbe probe;
+
+    @Inject
+    LorisgateServerConfig config;
+
+    @Override
+    public HealthCheckResponse call() {
+        var result = probe.getResult();
+        var builder = HealthCheckResponse.named("Lorisgate server health check")
+                .status(result.up())
+                .withData("endpoint", config.endpoint())
+                .withData("latency", result.latency());
+        if (result.checked() != null) {
+            builder.withData("checked", result.checked().toString());
+        }
+        if (result.error() != null) {
+            builder.withData("error", result.error());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,32 @@
+package org.lorislab.lorisgate.quarkus.runtime;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+
+/**
+ * Gauges of the lorisgate server probe, the values are read from the last probe result.
+ */
+@ApplicationScoped
+public class LorisgateHealthMetrics {
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    LorisgateHealthProbe probe;
+
+    void onStart(@Observes StartupEvent event) {
+        Gauge.builder("lorisgate.probe.latency", probe, p -> p.getResult().latency())
+                .description("Latency of the last lorisgate server probe")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("lorisgate.probe.up", probe, p -> p.getResult().up() ? 1 : 0)
+                .description("Result of the last lorisgate server probe")
+                .register(registry);
+    }
+}
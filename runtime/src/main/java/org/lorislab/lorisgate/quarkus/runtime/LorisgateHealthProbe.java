@@ -0,0 +1,110 @@
+package org.lorislab.lorisgate.quarkus.runtime;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+
+/**
+ * Background probe of the lorisgate server. The server endpoint is probed at a fixed interval on the event loop,
+ * the health check and the latency gauge read the last result without any I/O.
+ */
+@ApplicationScoped
+public class LorisgateHealthProbe {
+
+    private static final Logger log = Logger.getLogger(LorisgateHealthProbe.class);
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    LorisgateServerConfig config;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile Result result = new Result(false, 0, -1, null, "Lorisgate server is not probed yet");
+
+    private HttpClient client;
+
+    private long timer = -1;
+
+    void onStart(@Observes StartupEvent event) {
+        var health = config.health();
+        client = vertx.createHttpClient(new HttpClientOptions()
+                .setConnectTimeout((int) health.timeout().toMillis())
+                .setKeepAlive(true));
+        probe();
+        timer = vertx.setPeriodic(Math.max(1, health.interval().toMillis()), id -> probe());
+    }
+
+    /**
+     * Gets the last probe result.
+     *
+     * @return the last probe result.
+     */
+    public Result getResult() {
+        return result;
+    }
+
+    private void probe() {
+        // skip the probe if the previous one is still running
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        var health = config.health();
+        String url = config.endpoint() + health.path();
+        long start = System.nanoTime();
+        client.request(new RequestOptions()
+                .setMethod(HttpMethod.GET)
+                .setAbsoluteURI(url)
+                .setIdleTimeout(health.timeout().toMillis()))
+                .compose(request -> request.send())
+                .compose(response -> response.body().map(body -> response.statusCode()))
+                .onComplete(ar -> {
+                    long latency = (System.nanoTime() - start) / 1_000_000;
+                    if (ar.succeeded()) {
+                        int status = ar.result();
+                        result = new Result(status == 200, status, latency, Instant.now(),
+                                status == 200 ? null : "Unexpected status " + status);
+                    } else {
+                        log.debugf(ar.cause(), "Lorisgate server probe %s failed", url);
+                        result = new Result(false, 0, latency, Instant.now(), ar.cause().getMessage());
+                    }
+                    running.set(false);
+                });
+    }
+
+    @PreDestroy
+    void close() {
+        if (timer >= 0) {
+            vertx.cancelTimer(timer);
+        }
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    /**
+     * The probe result.
+     *
+     * @param up the server is ready.
+     * @param status the response status or {@code 0} if the request failed.
+     * @param latency the probe latency in milliseconds or {@code -1} if not probed yet.
+     * @param checked the time of the probe.
+     * @param error the error message or {@code null}.
+     */
+    public record Result(boolean up, int status, long latency, Instant checked, String error) {
+    }
+}
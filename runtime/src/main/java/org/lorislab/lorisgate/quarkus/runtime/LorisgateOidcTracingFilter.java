@@ -0,0 +1,139 @@
+package org.lorislab.lorisgate.quarkus.runtime;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import io.quarkus.oidc.common.OidcRequestFilter;
+import io.quarkus.oidc.common.OidcResponseFilter;
+import io.vertx.core.Vertx;
+import io.vertx.mutiny.core.buffer.Buffer;
+import io.vertx.mutiny.ext.web.client.HttpRequest;
+
+/**
+ * OpenTelemetry spans of the OIDC token, JWKS, discovery and other requests to the Lorisgate server.
+ * The span has the realm and client attributes and the trace context is propagated to the server.
+ * <p>
+ * The OIDC client calls the response filter only for a received response. A span without a response is ended
+ * with the error status after the OIDC connection timeout.
+ */
+@ApplicationScoped
+public class LorisgateOidcTracingFilter implements OidcRequestFilter, OidcResponseFilter {
+
+    private static final String INSTRUMENTATION_NAME = "org.lorislab.lorisgate.quarkus";
+
+    private static final String SPAN = LorisgateOidcTracingFilter.class.getName() + ".span";
+
+    private static final String REALMS = "/realms/";
+
+    private static final TextMapSetter<HttpRequest<Buffer>> SETTER = (carrier, key, value) -> {
+        if (carrier != null) {
+            carrier.putHeader(key, value);
+        }
+    };
+
+    @Inject
+    OpenTelemetry openTelemetry;
+
+    @Inject
+    LorisgateServerConfig config;
+
+    @Inject
+    Vertx vertx;
+
+    @ConfigProperty(name = "quarkus.oidc.connection-timeout", defaultValue = "10s")
+    Duration timeout;
+
+    @Override
+    public void filter(OidcRequestContext requestContext) {
+        var request = requestContext.request();
+        String path = request.uri();
+
+        var builder = openTelemetry.getTracer(INSTRUMENTATION_NAME)
+                .spanBuilder("lorisgate " + endpoint(path))
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute("http.request.method", request.method().name())
+                .setAttribute("url.path", path)
+                .setAttribute("lorisgate.client_id", config.oidc().clientId());
+        String realm = realm(path);
+        if (realm != null) {
+            builder.setAttribute("lorisgate.realm", realm);
+        }
+        var span = new PendingSpan(builder.startSpan());
+        requestContext.contextProperties().put(SPAN, span);
+        span.timer = vertx.setTimer(Math.max(1, timeout.toMillis()), id -> span.noResponse());
+
+        openTelemetry.getPropagators().getTextMapPropagator().inject(Context.current().with(span.span), request,
+                SETTER);
+    }
+
+    @Override
+    public void filter(OidcResponseContext responseContext) {
+        PendingSpan span = responseContext.requestProperties().get(SPAN);
+        if (span == null || !span.ended.compareAndSet(false, true)) {
+            return;
+        }
+        vertx.cancelTimer(span.timer);
+        span.span.setAttribute("http.response.status_code", responseContext.statusCode());
+        if (responseContext.statusCode() >= 400) {
+            span.span.setStatus(StatusCode.ERROR);
+        }
+        span.span.end();
+    }
+
+    private static String endpoint(String path) {
+        if (path.contains("/.well-known/")) {
+            return "discovery";
+        }
+        if (path.endsWith("/token")) {
+            return "token";
+        }
+        if (path.endsWith("/certs") || path.contains("jwks")) {
+            return "jwks";
+        }
+        return "oidc";
+    }
+
+    private static String realm(String path) {
+        int index = path.indexOf(REALMS);
+        if (index < 0) {
+            return null;
+        }
+        int start = index + REALMS.length();
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+
+    /**
+     * The span of the request, ended once by the response or by the timer.
+     */
+    private static class PendingSpan {
+
+        private final Span span;
+
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        private volatile long timer;
+
+        private PendingSpan(Span span) {
+            this.span = span;
+        }
+
+        private void noResponse() {
+            if (ended.compareAndSet(false, true)) {
+                span.setStatus(StatusCode.ERROR, "no response");
+                span.end();
+            }
+        }
+    }
+}
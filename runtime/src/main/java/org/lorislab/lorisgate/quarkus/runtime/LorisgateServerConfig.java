@@ -1,5 +1,10 @@
 package org.lorislab.lorisgate.quarkus.runtime;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 import io.quarkus.runtime.annotations.ConfigPhase;
 import io.quarkus.runtime.annotations.ConfigRoot;
 import io.smallrye.config.ConfigMapping;
@@ -26,6 +31,14 @@ public interface LorisgateServerConfig {
 
     String CLIENT_PORT = "lorislab.lorisgate.client.port";
 
+    String TENANT_REALMS = "lorislab.lorisgate.tenant.realms";
+
+    String TENANT_CLIENTS = "lorislab.lorisgate.tenant.clients";
+
+    String LOG_TAIL_FILE = "lorislab.lorisgate.log-tail-file";
+
+    String DEV_SERVICE_TRACE = "lorislab.lorisgate.dev-service-trace";
+
     /**
      * Host of the server
      */
@@ -67,6 +80,171 @@ public interface LorisgateServerConfig {
     @WithName("oidc")
     OidConfig oidc();
 
+    /**
+     * Multi-tenant OIDC configuration.
+     */
+    @WithName("tenant")
+    TenantConfig tenant();
+
+    /**
+     * Token value cache configuration.
+     */
+    @WithName("token-value-cache")
+    TokenValueCacheConfig tokenValueCache();
+
+    /**
+     * Readiness health check configuration.
+     */
+    @WithName("health")
+    HealthConfig health();
+
+    /**
+     * File with the retained container log tail. The dev service sets the file if the log tail is enabled.
+     */
+    @WithName("log-tail-file")
+    Optional<String> logTailFile();
+
+    /**
+     * Recorded phases of the dev service start. The dev service sets the phases if the OpenTelemetry extension
+     * is present, the application exports them as spans.
+     */
+    @WithName("dev-service-trace")
+    Optional<String> devServiceTrace();
+
+    /**
+     * Multi-tenant OIDC configuration.
+     */
+    interface TenantConfig {
+
+        /**
+         * Enable or disable the multi-tenant resolver. The resolver requires the quarkus-oidc extension.
+         */
+        @WithName("enabled")
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * Rule which maps the request to the realm.
+         */
+        @WithName("rule")
+        @WithDefault("path")
+        TenantRule rule();
+
+        /**
+         * Index of the request path segment with the realm name for the {@code path} rule.
+         */
+        @WithName("path-segment")
+        @WithDefault("0")
+        int pathSegment();
+
+        /**
+         * Request header with the realm name for the {@code header} rule.
+         */
+        @WithName("header")
+        @WithDefault("X-Lorisgate-Realm")
+        String header();
+
+        /**
+         * Realms of the tenants. The dev service sets all provisioned realms.
+         */
+        @WithName("realms")
+        Optional<List<String>> realms();
+
+        /**
+         * Client credentials of the tenant realms. The realms without the client credentials use the
+         * {@code lorislab.lorisgate.oidc} client. The dev service sets a configured client of each provisioned realm.
+         */
+        @WithName("clients")
+        Map<String, TenantClientConfig> clients();
+    }
+
+    /**
+     * Client credentials of the tenant realm.
+     */
+    interface TenantClientConfig {
+
+        /**
+         * Client ID of the realm.
+         */
+        @WithName("client-id")
+        String clientId();
+
+        /**
+         * Client secret of the realm.
+         */
+        @WithName("client-secret")
+        Optional<String> clientSecret();
+    }
+
+    /**
+     * Rule which maps the request to the realm.
+     */
+    enum TenantRule {
+
+        /**
+         * Realm name in the request path segment.
+         */
+        PATH,
+
+        /**
+         * Realm name in the request header.
+         */
+        HEADER,
+
+        /**
+         * Realm of the bearer token issuer.
+         */
+        ISSUER;
+    }
+
+    /**
+     * Token value cache configuration.
+     */
+    interface TokenValueCacheConfig {
+
+        /**
+         * Enable or disable the token value cache.
+         */
+        @WithName("enabled")
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * Maximum number of the cached token values.
+         */
+        @WithName("max-size")
+        @WithDefault("10000")
+        long maxSize();
+    }
+
+    /**
+     * Readiness health check configuration. The server is probed in the background, the health check returns
+     * the last probe result.
+     */
+    interface HealthConfig {
+
+        /**
+         * Interval of the background probe.
+         */
+        @WithName("interval")
+        @WithDefault("10s")
+        Duration interval();
+
+        /**
+         * Timeout of the probe request.
+         */
+        @WithName("timeout")
+        @WithDefault("2s")
+        Duration timeout();
+
+        /**
+         * Path of the probe request on the server endpoint.
+         */
+        @WithName("path")
+        @WithDefault("/q/health")
+        String path();
+    }
+
     /**
      * OIDC configuration.
      */
@@ -0,0 +1,119 @@
+package org.lorislab.lorisgate.quarkus.runtime;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import io.quarkus.oidc.OidcRequestContext;
+import io.quarkus.oidc.OidcTenantConfig;
+import io.quarkus.oidc.TenantConfigResolver;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Multi-tenant OIDC resolver for all Lorisgate realms. The request is mapped to the realm by the path, header or
+ * issuer rule. The tenant configuration is created on the first request of the realm and cached, the OIDC metadata
+ * of the tenant is resolved by the quarkus-oidc on the first use. The tenant uses the client credentials of the realm
+ * or the default client credentials.
+ */
+@ApplicationScoped
+public class LorisgateTenantConfigResolver implements TenantConfigResolver {
+
+    private static final String BEARER = "Bearer ";
+
+    private static final String REALMS = "/realms/";
+
+    @Inject
+    LorisgateServerConfig config;
+
+    private final Map<String, OidcTenantConfig> tenants = new ConcurrentHashMap<>();
+
+    private Set<String> realms;
+
+    @PostConstruct
+    void init() {
+        realms = Set.copyOf(config.tenant().realms().orElse(List.of()));
+    }
+
+    @Override
+    public Uni<OidcTenantConfig> resolve(RoutingContext context, OidcRequestContext<OidcTenantConfig> requestContext) {
+        if (!config.tenant().enabled()) {
+            return Uni.createFrom().nullItem();
+        }
+        String realm = realm(context);
+        if (realm == null || !realms.contains(realm)) {
+            // default tenant
+            return Uni.createFrom().nullItem();
+        }
+        return Uni.createFrom().item(tenants.computeIfAbsent(realm, this::createTenant));
+    }
+
+    OidcTenantConfig createTenant(String realm) {
+        var builder = OidcTenantConfig.builder()
+                .tenantId(realm)
+                .authServerUrl(config.endpoint() + REALMS + realm);
+
+        var client = config.tenant().clients().get(realm);
+        if (client == null) {
+            return builder.clientId(config.oidc().clientId())
+                    .credentials(config.oidc().clientSecret())
+                    .build();
+        }
+        builder.clientId(client.clientId());
+        client.clientSecret().ifPresent(builder::credentials);
+        return builder.build();
+    }
+
+    private String realm(RoutingContext context) {
+        var tenant = config.tenant();
+        return switch (tenant.rule()) {
+            case PATH -> pathSegment(context.normalizedPath(), tenant.pathSegment());
+            case HEADER -> context.request().getHeader(tenant.header());
+            case ISSUER -> issuerRealm(context.request().getHeader(HttpHeaders.AUTHORIZATION));
+        };
+    }
+
+    private static String pathSegment(String path, int index) {
+        int count = 0;
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                if (count == index) {
+                    return segment;
+                }
+                count++;
+            }
+        }
+        return null;
+    }
+
+    private static String issuerRealm(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER)) {
+            return null;
+        }
+        // the token is not verified, the issuer only selects the tenant which verifies the token
+        String[] parts = authorization.substring(BEARER.length()).split("\\.");
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            var payload = new JsonObject(new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8));
+            String issuer = payload.getString("iss");
+            if (issuer == null) {
+                return null;
+            }
+            int index = issuer.lastIndexOf(REALMS);
+            return index < 0 ? null : issuer.substring(index + REALMS.length());
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.lorislab.lorisgate.quarkus.runtime;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+/**
+ * Cache of the values mapped from the tokens, for example the parsed claims. The entries are keyed by the value type
+ * and the SHA-256 digest of the raw token and expire at the token expiration time. Repeated requests with the same
+ * token skip the mapping.
+ * <p>
+ * The cache does not verify the tokens and does not skip the token verification of the OIDC extension, every request
+ * is still verified. The cache must only be used with the tokens already verified, for example the raw token of the
+ * injected {@code JsonWebToken}.
+ */
+@ApplicationScoped
+public class LorisgateTokenValueCache {
+
+    @Inject
+    LorisgateServerConfig config;
+
+    private Cache<Key, Entry> cache;
+
+    @PostConstruct
+    void init() {
+        init(config.tokenValueCache());
+    }
+
+    void init(LorisgateServerConfig.TokenValueCacheConfig valueCache) {
+        if (!valueCache.enabled()) {
+            return;
+        }
+        cache = Caffeine.newBuilder()
+                .maximumSize(valueCache.maxSize())
+                .expireAfter(new EntryExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Gets the value of the token. The mapper is called only for the tokens which are not in the cache for
+     * the value type.
+     *
+     * @param token the raw verified token.
+     * @param type the type of the value.
+     * @param mapper the function which maps the token to the value.
+     * @param expiresAt the expiration time of the value in seconds since the epoch.
+     * @param <T> the type of the value.
+     * @return the value of the token.
+     */
+    public <T> T get(String token, Class<T> type, Function<String, T> mapper, ToLongFunction<T> expiresAt) {
+        if (cache == null) {
+            return mapper.apply(token);
+        }
+        return type.cast(cache.get(new Key(type, digest(token)), key -> {
+            T value = mapper.apply(token);
+            return new Entry(value, expiresAt.applyAsLong(value));
+        }).value());
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Gets the number of the cache hits.
+     *
+     * @return the number of the cache hits.
+     */
+    public long hitCount() {
+        return cache == null ? 0 : cache.stats().hitCount();
+    }
+
+    /**
+     * Gets the number of the cache misses.
+     *
+     * @return the number of the cache misses.
+     */
+    public long missCount() {
+        return cache == null ? 0 : cache.stats().missCount();
+    }
+
+    private static String digest(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * The cache key.
+     *
+     * @param type the type of the value.
+     * @param digest the digest of the raw token.
+     */
+    private record Key(Class<?> type, String digest) {
+    }
+
+    /**
+     * The cache entry.
+     *
+     * @param value the value of the token.
+     * @param expiresAt the expiration time in seconds since the epoch.
+     */
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    /**
+     * Expires the entry at the token expiration time.
+     */
+    private static class EntryExpiry implements Expiry<Key, Entry> {
+
+        @Override
+        public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+            long remaining = entry.expiresAt() - System.currentTimeMillis() / 1000;
+            return remaining <= 0 ? 0 : TimeUnit.SECONDS.toNanos(remaining);
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
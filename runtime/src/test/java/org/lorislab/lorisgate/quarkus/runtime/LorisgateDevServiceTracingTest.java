@@ -0,0 +1,83 @@
+package org.lorislab.lorisgate.quarkus.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+
+import org.junit.jupiter.api.Test;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+class LorisgateDevServiceTracingTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    private static final String PARENT_ID = "00f067aa0ba902b7";
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+
+    @Test
+    void testExport() {
+        var value = new JsonObject()
+                .put("traceparent", "00-" + TRACE_ID + "-" + PARENT_ID + "-01")
+                .put("spans", new JsonArray()
+                        .add(phase("lorisgate dev service start", -1, 1_000, 9_000, new JsonObject()))
+                        .add(phase("lorisgate container start", 0, 2_000, 5_000,
+                                new JsonObject().put("lorisgate.image", "ghcr.io/lorislab/lorisgate:0.2.0")))
+                        .add(phase("lorisgate realm provisioning", 0, 5_000, 8_000,
+                                new JsonObject().put("lorisgate.realm", "quarkus"))
+                                .put("error", "java.lang.RuntimeException: failed")))
+                .encode();
+
+        tracing().export(value);
+
+        var spans = exporter.getFinishedSpanItems().stream()
+                .sorted(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .toList();
+        assertThat(spans).extracting(SpanData::getName).containsExactly("lorisgate dev service start",
+                "lorisgate container start", "lorisgate realm provisioning");
+        assertThat(spans).allSatisfy(span -> assertThat(span.getTraceId()).isEqualTo(TRACE_ID));
+
+        var root = spans.get(0);
+        assertThat(root.getParentSpanId()).isEqualTo(PARENT_ID);
+        assertThat(root.getStartEpochNanos()).isEqualTo(1_000);
+        assertThat(root.getEndEpochNanos()).isEqualTo(9_000);
+
+        var container = spans.get(1);
+        assertThat(container.getParentSpanId()).isEqualTo(root.getSpanId());
+        assertThat(container.getAttributes().get(AttributeKey.stringKey("lorisgate.image")))
+                .isEqualTo("ghcr.io/lorislab/lorisgate:0.2.0");
+        assertThat(container.getStatus().getStatusCode()).isEqualTo(StatusCode.UNSET);
+
+        var realm = spans.get(2);
+        assertThat(realm.getParentSpanId()).isEqualTo(root.getSpanId());
+        assertThat(realm.getAttributes().get(AttributeKey.stringKey("lorisgate.realm"))).isEqualTo("quarkus");
+        assertThat(realm.getStatus().getStatusCode()).isEqualTo(StatusCode.ERROR);
+    }
+
+    private LorisgateDevServiceTracing tracing() {
+        var tracing = new LorisgateDevServiceTracing();
+        tracing.openTelemetry = OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                        .build())
+                .build();
+        return tracing;
+    }
+
+    private static JsonObject phase(String name, int parent, long start, long end, JsonObject attributes) {
+        return new JsonObject()
+                .put("name", name)
+                .put("parent", parent)
+                .put("start", start)
+                .put("end", end)
+                .put("attributes", attributes);
+    }
+}
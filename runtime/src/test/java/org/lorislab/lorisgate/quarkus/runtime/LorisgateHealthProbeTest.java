@@ -0,0 +1,91 @@
+package org.lorislab.lorisgate.quarkus.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.quarkus.runtime.configuration.DurationConverter;
+import io.smallrye.config.PropertiesConfigSource;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import io.vertx.core.Vertx;
+
+class LorisgateHealthProbeTest {
+
+    private Vertx vertx;
+
+    private HttpServer server;
+
+    private LorisgateHealthProbe probe;
+
+    @BeforeEach
+    void init() throws IOException {
+        vertx = Vertx.vertx();
+        // the lorisgate server and the replay server serve only the health path
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                exchange.getRequestBody().readAllBytes();
+                exchange.sendResponseHeaders("/q/health".equals(exchange.getRequestURI().getPath()) ? 200 : 404, -1);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void close() {
+        if (probe != null) {
+            probe.close();
+        }
+        server.stop(0);
+        vertx.close().toCompletionStage().toCompletableFuture().join();
+    }
+
+    @Test
+    void testDefaultPath() {
+        probe = probe("http://localhost:" + server.getAddress().getPort());
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> probe.getResult().checked() != null);
+        assertThat(probe.getResult().up()).isTrue();
+        assertThat(probe.getResult().status()).isEqualTo(200);
+        assertThat(probe.getResult().error()).isNull();
+    }
+
+    @Test
+    void testUnavailableEndpoint() throws IOException {
+        int port;
+        try (var socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        probe = probe("http://localhost:" + port);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> probe.getResult().checked() != null);
+        assertThat(probe.getResult().up()).isFalse();
+        assertThat(probe.getResult().status()).isZero();
+        assertThat(probe.getResult().error()).isNotNull();
+    }
+
+    private LorisgateHealthProbe probe(String endpoint) {
+        var config = new SmallRyeConfigBuilder()
+                .withSources(new PropertiesConfigSource(Map.of(LorisgateServerConfig.ENDPOINT, endpoint), "test", 250))
+                .withDefaultValue(LorisgateServerConfig.OIDC_AUTH_URL, "http://localhost:8080/realms/quarkus")
+                .withConverter(Duration.class, 200, new DurationConverter())
+                .withMapping(LorisgateServerConfig.class)
+                .build();
+        var result = new LorisgateHealthProbe();
+        result.config = config.getConfigMapping(LorisgateServerConfig.class);
+        result.vertx = vertx;
+        result.onStart(null);
+        return result;
+    }
+}
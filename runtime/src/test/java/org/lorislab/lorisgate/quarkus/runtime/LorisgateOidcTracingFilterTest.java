@@ -0,0 +1,115 @@
+package org.lorislab.lorisgate.quarkus.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.quarkus.oidc.common.OidcRequestContextProperties;
+import io.quarkus.oidc.common.OidcRequestFilter;
+import io.quarkus.oidc.common.OidcResponseFilter;
+import io.quarkus.runtime.configuration.DurationConverter;
+import io.smallrye.config.PropertiesConfigSource;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import io.vertx.core.Vertx;
+import io.vertx.mutiny.core.MultiMap;
+import io.vertx.mutiny.ext.web.client.WebClient;
+
+class LorisgateOidcTracingFilterTest {
+
+    private static final String TOKEN_URL = "http://localhost:8080/realms/orders/protocol/openid-connect/token";
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+
+    private Vertx vertx;
+
+    private WebClient webClient;
+
+    @BeforeEach
+    void init() {
+        vertx = Vertx.vertx();
+        webClient = WebClient.create(new io.vertx.mutiny.core.Vertx(vertx));
+    }
+
+    @AfterEach
+    void close() {
+        webClient.close();
+        vertx.close().toCompletionStage().toCompletableFuture().join();
+    }
+
+    @Test
+    void testResponse() {
+        var filter = filter(Duration.ofSeconds(10));
+        var request = webClient.postAbs(TOKEN_URL);
+        var properties = new OidcRequestContextProperties();
+        filter.filter(new OidcRequestFilter.OidcRequestContext(request, null, properties));
+
+        assertThat(request.headers().get("traceparent")).isNotNull();
+        assertThat(exporter.getFinishedSpanItems()).isEmpty();
+
+        filter.filter(new OidcResponseFilter.OidcResponseContext(properties, 401, MultiMap.caseInsensitiveMultiMap(),
+                null));
+        // the second response of the same request is ignored
+        filter.filter(new OidcResponseFilter.OidcResponseContext(properties, 200, MultiMap.caseInsensitiveMultiMap(),
+                null));
+
+        var spans = exporter.getFinishedSpanItems();
+        assertThat(spans).hasSize(1);
+        var span = spans.get(0);
+        assertThat(span.getName()).isEqualTo("lorisgate token");
+        assertThat(span.getAttributes().get(AttributeKey.stringKey("lorisgate.realm"))).isEqualTo("orders");
+        assertThat(span.getAttributes().get(AttributeKey.stringKey("lorisgate.client_id"))).isEqualTo("quarkus-app");
+        assertThat(span.getAttributes().get(AttributeKey.longKey("http.response.status_code"))).isEqualTo(401L);
+        assertThat(span.getStatus().getStatusCode()).isEqualTo(StatusCode.ERROR);
+    }
+
+    @Test
+    void testNoResponse() {
+        var filter = filter(Duration.ofMillis(50));
+        var properties = new OidcRequestContextProperties();
+        filter.filter(new OidcRequestFilter.OidcRequestContext(webClient.getAbs(TOKEN_URL), null, properties));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> !exporter.getFinishedSpanItems().isEmpty());
+
+        var span = exporter.getFinishedSpanItems().get(0);
+        assertThat(span.getStatus().getStatusCode()).isEqualTo(StatusCode.ERROR);
+        assertThat(span.getStatus().getDescription()).isEqualTo("no response");
+
+        // the late response does not end the span again
+        filter.filter(new OidcResponseFilter.OidcResponseContext(properties, 200, MultiMap.caseInsensitiveMultiMap(),
+                null));
+        assertThat(exporter.getFinishedSpanItems()).hasSize(1);
+    }
+
+    private LorisgateOidcTracingFilter filter(Duration timeout) {
+        var config = new SmallRyeConfigBuilder()
+                .withSources(new PropertiesConfigSource(Map.of(), "test", 250))
+                .withDefaultValue(LorisgateServerConfig.OIDC_AUTH_URL, "http://localhost:8080/realms/quarkus")
+                .withConverter(Duration.class, 200, new DurationConverter())
+                .withMapping(LorisgateServerConfig.class)
+                .build();
+        var filter = new LorisgateOidcTracingFilter();
+        filter.config = config.getConfigMapping(LorisgateServerConfig.class);
+        filter.openTelemetry = OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                        .build())
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+        filter.vertx = vertx;
+        filter.timeout = timeout;
+        return filter;
+    }
+}
@@ -0,0 +1,53 @@
+package org.lorislab.lorisgate.quarkus.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.runtime.configuration.DurationConverter;
+import io.smallrye.config.PropertiesConfigSource;
+import io.smallrye.config.SmallRyeConfigBuilder;
+
+class LorisgateTenantConfigResolverTest {
+
+    @Test
+    void testRealmClient() {
+        var resolver = resolver(Map.of(
+                "lorislab.lorisgate.tenant.clients.\"orders\".client-id", "orders-app",
+                "lorislab.lorisgate.tenant.clients.\"orders\".client-secret", "orders-secret",
+                "lorislab.lorisgate.tenant.clients.\"public\".client-id", "public-app"));
+
+        var tenant = resolver.createTenant("orders");
+        assertThat(tenant.tenantId()).hasValue("orders");
+        assertThat(tenant.authServerUrl()).hasValue("http://localhost:8080/realms/orders");
+        assertThat(tenant.clientId()).hasValue("orders-app");
+        assertThat(tenant.credentials().secret()).hasValue("orders-secret");
+
+        var publicTenant = resolver.createTenant("public");
+        assertThat(publicTenant.clientId()).hasValue("public-app");
+        assertThat(publicTenant.credentials().secret()).isEmpty();
+    }
+
+    @Test
+    void testDefaultClient() {
+        var tenant = resolver(Map.of()).createTenant("other");
+        assertThat(tenant.clientId()).hasValue("quarkus-app");
+        assertThat(tenant.credentials().secret()).hasValue("secret");
+    }
+
+    private static LorisgateTenantConfigResolver resolver(Map<String, String> properties) {
+        var config = new SmallRyeConfigBuilder()
+                .withSources(new PropertiesConfigSource(properties, "test", 250))
+                .withDefaultValue(LorisgateServerConfig.OIDC_AUTH_URL, "http://localhost:8080/realms/quarkus")
+                .withConverter(Duration.class, 200, new DurationConverter())
+                .withMapping(LorisgateServerConfig.class)
+                .build();
+        var resolver = new LorisgateTenantConfigResolver();
+        resolver.config = config.getConfigMapping(LorisgateServerConfig.class);
+        resolver.init();
+        return resolver;
+    }
+}
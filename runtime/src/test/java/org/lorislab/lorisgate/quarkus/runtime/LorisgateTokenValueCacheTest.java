@@ -0,0 +1,87 @@
+package org.lorislab.lorisgate.quarkus.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class LorisgateTokenValueCacheTest {
+
+    private static final long VALID = System.currentTimeMillis() / 1000 + 3600;
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void testHitAndMiss() {
+        var cache = cache(true);
+
+        assertThat(cache.get("token-1", String.class, this::map, v -> VALID)).isEqualTo("value-token-1");
+        assertThat(cache.get("token-1", String.class, this::map, v -> VALID)).isEqualTo("value-token-1");
+        assertThat(cache.get("token-2", String.class, this::map, v -> VALID)).isEqualTo("value-token-2");
+
+        assertThat(calls).hasValue(2);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(2);
+
+        cache.invalidateAll();
+        cache.get("token-1", String.class, this::map, v -> VALID);
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void testExpiredToken() {
+        var cache = cache(true);
+        long expired = System.currentTimeMillis() / 1000 - 1;
+
+        cache.get("token", String.class, this::map, v -> expired);
+        cache.get("token", String.class, this::map, v -> expired);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void testValueTypes() {
+        var cache = cache(true);
+
+        assertThat(cache.get("token", String.class, this::map, v -> VALID)).isEqualTo("value-token");
+        // the same token mapped to a different type is a separate entry
+        assertThat(cache.get("token", Integer.class, String::length, v -> VALID)).isEqualTo(5);
+        assertThat(cache.get("token", String.class, this::map, v -> VALID)).isEqualTo("value-token");
+
+        assertThat(calls).hasValue(1);
+        assertThat(cache.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testDisabled() {
+        var cache = cache(false);
+
+        cache.get("token", String.class, this::map, v -> VALID);
+        cache.get("token", String.class, this::map, v -> VALID);
+
+        assertThat(calls).hasValue(2);
+        assertThat(cache.hitCount()).isZero();
+    }
+
+    private String map(String token) {
+        calls.incrementAndGet();
+        return "value-" + token;
+    }
+
+    private static LorisgateTokenValueCache cache(boolean enabled) {
+        var cache = new LorisgateTokenValueCache();
+        cache.init(new LorisgateServerConfig.TokenValueCacheConfig() {
+            @Override
+            public boolean enabled() {
+                return enabled;
+            }
+
+            @Override
+            public long maxSize() {
+                return 100;
+            }
+        });
+        return cache;
+    }
+}